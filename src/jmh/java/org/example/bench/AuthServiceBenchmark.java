@@ -0,0 +1,71 @@
+package org.example.bench;
+
+import org.example.core.model.User;
+import org.example.core.port.UserRepository;
+import org.example.core.service.AuthService;
+import org.example.core.service.ServiceResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthServiceBenchmark {
+    @Param({"1000", "100000"})
+    public int users;
+
+    private AuthService service;
+    private String[] logins;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new AuthService(new InMemoryRepository());
+        Random random = new Random(SyntheticData.SEED);
+        logins = new String[1024];
+        for (int i = 0; i < users; i++) {
+            service.register("user" + i, "password" + i);
+        }
+        for (int i = 0; i < logins.length; i++) {
+            logins[i] = "user" + random.nextInt(users);
+        }
+    }
+
+    @Benchmark
+    public ServiceResult<User> login() {
+        String login = logins[next++ & (logins.length - 1)];
+        return service.login(login, "password" + login.substring(4));
+    }
+
+    private static class InMemoryRepository implements UserRepository {
+        private final Map<String, User> stored = new HashMap<>();
+
+        @Override
+        public Map<String, User> loadAll() {
+            return new HashMap<>(stored);
+        }
+
+        @Override
+        public void saveAll(Map<String, User> users) {
+            stored.putAll(users);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.bench;
+
+import org.example.core.model.User;
+import org.example.core.port.MutationListener;
+import org.example.core.service.FinanceService;
+import org.example.core.service.ReportData;
+import org.example.core.service.ServiceResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class FinanceServiceBenchmark {
+    private static final List<String> CATEGORIES = List.of("food", "Taxi");
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private FinanceService service;
+    private FinanceService cachedService;
+    private FinanceService parallelService;
+    private User user;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new FinanceService(MutationListener.NONE, 0);
+        cachedService = new FinanceService();
+        parallelService = new FinanceService(MutationListener.NONE, 0, 0);
+        user = SyntheticData.user("bench", transactions, SyntheticData.SEED);
+    }
+
+    @Benchmark
+    public ServiceResult<?> addExpense() {
+        return service.addExpense(user, "Food", 100, "2026-01-15", "bench");
+    }
+
+    @Benchmark
+    public ReportData reportAll() {
+        return service.buildReport(user, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ReportData reportAllParallel() {
+        return parallelService.buildReport(user, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ReportData reportAllCached() {
+        return cachedService.buildReport(user, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ReportData reportByCategory() {
+        return service.buildReport(user, CATEGORIES, null, null, null, null);
+    }
+
+    @Benchmark
+    public ReportData reportByPeriod() {
+        return service.buildReport(user, null, "2020-01-01", "2020-01-31", null, null);
+    }
+
+    @Benchmark
+    public ReportData reportMultiYearPeriod() {
+        return service.buildReport(user, null, "2017-03-15", "2024-10-20", null, null);
+    }
+
+    @Benchmark
+    public ReportData reportByCategoryAndPeriod() {
+        return service.buildReport(user, CATEGORIES, "2020-01-01", "2020-12-31", null, null);
+    }
+
+    @Benchmark
+    public boolean renameCategory() {
+        boolean forward = service.renameCategory(user, "Food", "Meals").isSuccess();
+        boolean back = service.renameCategory(user, "Meals", "Food").isSuccess();
+        return forward && back;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.bench;
+
+import org.example.core.model.User;
+import org.example.infra.JsonUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JsonRepositoryBenchmark {
+    private static final int USERS = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private Path dir;
+    private JsonUserRepository source;
+    private JsonUserRepository target;
+    private Map<String, User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("finance-bench");
+        users = SyntheticData.users(USERS, transactions / USERS, SyntheticData.SEED);
+        source = new JsonUserRepository(dir.resolve("source.json"));
+        source.saveAll(users);
+        target = new JsonUserRepository(dir.resolve("target.json"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, User> loadAll() {
+        return source.loadAll();
+    }
+
+    @Benchmark
+    public void saveAll() {
+        target.saveAll(users);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.bench;
+
+import org.example.core.model.User;
+import org.example.core.service.FinanceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class RemoveCategoryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private FinanceService service;
+    private User user;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new FinanceService();
+        user = SyntheticData.user("bench", transactions, SyntheticData.SEED);
+    }
+
+    @Benchmark
+    public boolean removeCategory() {
+        return service.removeCategory(user, "Food").isSuccess();
+    }
+}
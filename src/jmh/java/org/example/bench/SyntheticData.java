@@ -0,0 +1,62 @@
+package org.example.bench;
+
+import org.example.core.model.Money;
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+final class SyntheticData {
+    static final long SEED = 20260101L;
+    static final String[] EXPENSE_CATEGORIES = {
+            "Food", "Taxi", "Rent", "Utilities", "Health", "Cinema", "Books", "Gym", "Travel", "Gifts"
+    };
+    static final String[] INCOME_CATEGORIES = {"Salary", "Bonus", "Interest"};
+    static final LocalDate START = LocalDate.of(2016, 1, 1);
+    static final int DAYS = 3650;
+
+    private SyntheticData() {
+    }
+
+    static Wallet wallet(int transactions, long seed) {
+        Random random = new Random(seed);
+        Wallet wallet = new Wallet();
+        long startDay = START.toEpochDay();
+        for (int i = 0; i < transactions; i++) {
+            String date = LocalDate.ofEpochDay(startDay + (long) i * DAYS / Math.max(1, transactions)).toString();
+            boolean income = i % 4 == 0;
+            String category = income
+                    ? INCOME_CATEGORIES[random.nextInt(INCOME_CATEGORIES.length)]
+                    : EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)];
+            long amount = Money.ofMajor(income ? 1000 + random.nextInt(5000) : 10 + random.nextInt(900));
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            wallet.addTransaction(new Transaction(id.toString(),
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    category, amount, "operation " + i, date, null));
+        }
+        for (int i = 0; i < EXPENSE_CATEGORIES.length; i += 2) {
+            wallet.setBudget(EXPENSE_CATEGORIES[i], Money.ofMajor(50_000 + random.nextInt(50_000)));
+        }
+        wallet.clearDirty();
+        return wallet;
+    }
+
+    static User user(String login, int transactions, long seed) {
+        return new User(login, "hash-" + login, wallet(transactions, seed));
+    }
+
+    static Map<String, User> users(int userCount, int transactionsPerUser, long seed) {
+        Map<String, User> users = new HashMap<>();
+        for (int i = 0; i < userCount; i++) {
+            String login = "user" + i;
+            users.put(login, user(login, transactionsPerUser, seed + i));
+        }
+        return users;
+    }
+}
@@ -1,12 +1,58 @@
 package org.example;
 
+import org.example.cli.AppServices;
 import org.example.cli.ConsoleApp;
+import org.example.cli.SessionServer;
+import org.example.infra.LoadProgressListener;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Path storagePath = Path.of("data", "users.json");
-        new ConsoleApp(storagePath).run();
+        Integer port = null;
+        String batchFile = null;
+        String batchUser = null;
+        ConsoleApp.Access access = Arrays.asList(args).contains("--admin")
+                ? ConsoleApp.Access.ADMIN
+                : ConsoleApp.Access.LOCAL;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--data")) {
+                storagePath = Path.of(args[i + 1]);
+            } else if (args[i].equals("--serve")) {
+                port = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--batch")) {
+                batchFile = args[i + 1];
+            } else if (args[i].equals("--user")) {
+                batchUser = args[i + 1];
+            }
+        }
+        if (batchFile != null) {
+            BufferedReader commands = batchFile.equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in))
+                    : Files.newBufferedReader(Path.of(batchFile), StandardCharsets.UTF_8);
+            boolean success;
+            try (commands) {
+                success = new ConsoleApp(storagePath, access).runBatch(commands, batchUser);
+            }
+            if (!success) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (port == null) {
+            new ConsoleApp(storagePath, access).run();
+            return;
+        }
+        SessionServer server = new SessionServer(AppServices.open(storagePath, LoadProgressListener.NONE), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Сервер запущен на порту " + server.getPort() + ".");
+        server.serve();
     }
 }
@@ -0,0 +1,65 @@
+package org.example.cli;
+
+import org.example.core.port.MutationListener;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.example.core.service.WalletLocks;
+import org.example.infra.BinaryUserRepository;
+import org.example.infra.JournaledUserRepository;
+import org.example.infra.JsonUserRepository;
+import org.example.infra.LoadProgressListener;
+import org.example.infra.PagedUserRepository;
+import org.example.infra.StorageConverter;
+
+import java.nio.file.Path;
+
+public class AppServices {
+    private final AuthService authService;
+    private final FinanceService financeService;
+    private final PagedUserRepository pagedRepository;
+
+    public AppServices(AuthService authService, FinanceService financeService) {
+        this(authService, financeService, null);
+    }
+
+    public AppServices(AuthService authService, FinanceService financeService,
+                       PagedUserRepository pagedRepository) {
+        this.authService = authService;
+        this.financeService = financeService;
+        this.pagedRepository = pagedRepository;
+    }
+
+    public static AppServices open(Path storagePath, LoadProgressListener progressListener) {
+        WalletLocks locks = new WalletLocks();
+        if (StorageConverter.isBinary(storagePath)) {
+            return new AppServices(new AuthService(new BinaryUserRepository(storagePath), MutationListener.NONE, locks),
+                    new FinanceService(MutationListener.NONE, locks));
+        }
+        if (!storagePath.getFileName().toString().endsWith(".json")) {
+            PagedUserRepository repository = new PagedUserRepository(storagePath);
+            return new AppServices(new AuthService(repository, MutationListener.NONE, locks),
+                    new FinanceService(MutationListener.NONE, locks), repository);
+        }
+        JournaledUserRepository repository = new JournaledUserRepository(
+                new JsonUserRepository(storagePath, progressListener),
+                storagePath.resolveSibling(storagePath.getFileName() + ".journal"));
+        return new AppServices(new AuthService(repository, repository, locks), new FinanceService(repository, locks));
+    }
+
+    public AuthService getAuthService() {
+        return authService;
+    }
+
+    public FinanceService getFinanceService() {
+        return financeService;
+    }
+
+    public PagedUserRepository getPagedRepository() {
+        return pagedRepository;
+    }
+
+    public void close() {
+        authService.saveAll();
+        authService.close();
+    }
+}
@@ -1,50 +1,193 @@
 package org.example.cli;
 
+import org.example.core.model.Money;
 import org.example.core.model.User;
 import org.example.core.service.AuthService;
 import org.example.core.service.FinanceService;
+import org.example.core.service.ImportResult;
 import org.example.core.service.ReportData;
 import org.example.core.service.ServiceResult;
-import org.example.infra.JsonUserRepository;
+import org.example.core.service.StoreReport;
+import org.example.core.service.StoreReportService;
+import org.example.infra.CsvMapping;
+import org.example.infra.CsvStatementImporter;
+import org.example.infra.JsonExporter;
+import org.example.infra.JsonMergeImporter;
+import org.example.infra.LoadProgressListener;
+import org.example.infra.PagedUserRepository;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ConsoleApp {
-    private final Scanner scanner;
+    private final BufferedReader in;
+    private final PrintWriter out;
+    private final AppServices services;
     private final AuthService authService;
     private final FinanceService financeService;
+    private final boolean ownsServices;
+    private final Access access;
     private final InputParser inputParser = new InputParser();
     private final TableFormatter tableFormatter = new TableFormatter();
-    private final Path storagePath;
     private User currentUser;
-    private String lastReport;
+    private ReportData lastReport;
+    private List<String> lastMissing;
+    private boolean batch;
+    private boolean commandFailed;
+    private StringWriter commandOutput;
 
     public ConsoleApp(Path storagePath) {
-        this.scanner = new Scanner(System.in);
-        this.storagePath = storagePath;
-        this.authService = new AuthService(new JsonUserRepository(storagePath));
-        this.financeService = new FinanceService();
+        this(storagePath, Access.LOCAL);
+    }
+
+    public ConsoleApp(Path storagePath, Access access) {
+        this(AppServices.open(storagePath, loadProgressPrinter()),
+                new BufferedReader(new InputStreamReader(System.in)), new PrintWriter(System.out, true, System.out.charset()), true, access);
+    }
+
+    public ConsoleApp(AppServices services, BufferedReader in, PrintWriter out) {
+        this(services, in, out, Access.LOCAL);
+    }
+
+    public ConsoleApp(AppServices services, BufferedReader in, PrintWriter out, Access access) {
+        this(services, in, out, false, access);
+    }
+
+    private ConsoleApp(AppServices services, BufferedReader in, PrintWriter out, boolean ownsServices,
+                       Access access) {
+        this.in = in;
+        this.out = out;
+        this.services = services;
+        this.authService = services.getAuthService();
+        this.financeService = services.getFinanceService();
+        this.ownsServices = ownsServices;
+        this.access = access;
     }
 
     public void run() {
         println("Финансовый менеджер.");
         boolean running = true;
-        while (running) {
-            if (currentUser == null) {
-                running = authMenu();
+        try {
+            while (running) {
+                if (currentUser == null) {
+                    running = authMenu();
+                } else {
+                    running = userMenu();
+                }
+            }
+            println("До свидания!");
+        } catch (EndOfInput e) {
+            save();
+        } finally {
+            if (ownsServices) {
+                services.close();
+            }
+        }
+    }
+
+    public boolean runBatch(BufferedReader commands, String login) {
+        batch = true;
+        long started = System.nanoTime();
+        int lines = 0;
+        int executed = 0;
+        int failed = 0;
+        try {
+            boolean selected = true;
+            if (login != null) {
+                commandFailed = false;
+                selectUser(login);
+                selected = !commandFailed;
+                if (!selected) {
+                    failed++;
+                }
+            }
+            String line;
+            while (selected && (line = readCommand(commands)) != null) {
+                lines++;
+                String input = line.trim();
+                if (input.isEmpty() || input.startsWith("#")) {
+                    continue;
+                }
+                commandFailed = false;
+                commandOutput = new StringWriter();
+                boolean running = executeBatchCommand(input);
+                executed++;
+                if (commandFailed) {
+                    failed++;
+                    out.println("Строка " + lines + ": " + input);
+                    out.print(commandOutput);
+                }
+                commandOutput = null;
+                if (!running) {
+                    break;
+                }
+            }
+            if (!save()) {
+                failed++;
+            }
+        } finally {
+            if (ownsServices) {
+                services.close();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        out.println(String.format(Locale.ROOT,
+                "Выполнено команд: %d, ошибок: %d, время: %.2f с, команд в секунду: %.0f, "
+                        + "сохранено пользователей: %d",
+                executed, failed, seconds, seconds > 0 ? executed / seconds : 0, authService.getFlushedUserCount()));
+        out.flush();
+        return failed == 0;
+    }
+
+    private boolean executeBatchCommand(String input) {
+        List<String> args = inputParser.splitArgs(input);
+        if (!args.isEmpty() && args.get(0).equalsIgnoreCase("пользователь")) {
+            if (args.size() < 2) {
+                fail("Пример: пользователь user1");
             } else {
-                running = userMenu();
+                selectUser(args.get(1));
             }
+            return true;
+        }
+        if (currentUser == null) {
+            fail("Пользователь не выбран. Пример: пользователь user1");
+            return true;
+        }
+        return handleUserCommand(input);
+    }
+
+    private void selectUser(String login) {
+        User user = authService.getUsers().get(login.trim().toLowerCase(Locale.ROOT));
+        if (user == null) {
+            fail("Пользователь не найден: " + login);
+        }
+        currentUser = user;
+    }
+
+    private String readCommand(BufferedReader commands) {
+        try {
+            return commands.readLine();
+        } catch (IOException e) {
+            return null;
         }
-        println("До свидания!");
     }
 
     private boolean authMenu() {
@@ -63,10 +206,10 @@ public class ConsoleApp {
             switch (input) {
                 case "1" -> handleLogin();
                 case "2" -> handleRegister();
-                case "3" -> handleExport();
+                case "3" -> handleExport(List.of());
                 case "4" -> handleImport();
                 case "5" -> {
-                    authService.saveAll();
+                    save();
                     return false;
                 }
                 default -> println("Неизвестный пункт.");
@@ -103,7 +246,7 @@ public class ConsoleApp {
                 case "7" -> printHelp();
                 case "8" -> currentUser = null;
                 case "9" -> {
-                    authService.saveAll();
+                    save();
                     return false;
                 }
                 default -> println("Неизвестный пункт.");
@@ -123,13 +266,13 @@ public class ConsoleApp {
             case "help", "помощь" -> printHelp();
             case "войти", "логин", "login" -> handleLogin();
             case "регистрация", "register" -> handleRegister();
-            case "экспорт" -> handleExport();
+            case "экспорт" -> handleExport(args);
             case "импорт" -> handleImport();
             case "выход", "exit" -> {
-                authService.saveAll();
+                save();
                 return false;
             }
-            default -> println("Команда не распознана. Введите help.");
+            default -> fail("Команда не распознана. Введите help.");
         }
         return true;
     }
@@ -148,14 +291,17 @@ public class ConsoleApp {
             case "категория" -> handleCategoryCommand(args);
             case "перевод" -> handleTransferCommand(args);
             case "отчет", "отчёт" -> handleReportCommand(args);
-            case "экспорт" -> handleExport();
+            case "экспорт" -> handleExport(args);
             case "импорт" -> handleImport();
+            case "импорт-csv" -> handleCsvImport(args);
+            case "сводка" -> handleStoreReport();
+            case "статус" -> handleStatus();
             case "выход", "exit" -> {
-                authService.saveAll();
+                save();
                 return false;
             }
             case "выйти", "logout" -> currentUser = null;
-            default -> println("Команда не распознана. Введите help.");
+            default -> fail("Команда не распознана. Введите help.");
         }
         return true;
     }
@@ -182,7 +328,7 @@ public class ConsoleApp {
 
     private void handleIncomeInteractive() {
         String category = prompt("Категория: ");
-        Double amount = readAmount("Сумма: ");
+        Long amount = readAmount("Сумма: ");
         if (amount == null) {
             return;
         }
@@ -193,13 +339,13 @@ public class ConsoleApp {
 
     private void handleIncomeCommand(List<String> args) {
         if (args.size() < 3) {
-            println("Пример: доход \"Еда\" 500 2026-01-01 \"описание\"");
+            fail("Пример: доход \"Еда\" 500 2026-01-01 \"описание\"");
             return;
         }
         String category = args.get(1);
-        Double amount = parseAmount(args.get(2));
+        Long amount = parseAmount(args.get(2));
         if (amount == null) {
-            println("Некорректная сумма.");
+            fail("Некорректная сумма.");
             return;
         }
         String date = null;
@@ -215,17 +361,14 @@ public class ConsoleApp {
         handleIncome(category, amount, date, description);
     }
 
-    private void handleIncome(String category, double amount, String date, String description) {
+    private void handleIncome(String category, long amount, String date, String description) {
         ServiceResult<?> result = financeService.addIncome(currentUser, category, amount, date, description);
-        println(messageOrDefault(result.getMessage(), "Доход добавлен."));
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "Доход добавлен.");
     }
 
     private void handleExpenseInteractive() {
         String category = prompt("Категория: ");
-        Double amount = readAmount("Сумма: ");
+        Long amount = readAmount("Сумма: ");
         if (amount == null) {
             return;
         }
@@ -236,13 +379,13 @@ public class ConsoleApp {
 
     private void handleExpenseCommand(List<String> args) {
         if (args.size() < 3) {
-            println("Пример: расход \"Еда\" 300 2026-01-01 \"описание\"");
+            fail("Пример: расход \"Еда\" 300 2026-01-01 \"описание\"");
             return;
         }
         String category = args.get(1);
-        Double amount = parseAmount(args.get(2));
+        Long amount = parseAmount(args.get(2));
         if (amount == null) {
-            println("Некорректная сумма.");
+            fail("Некорректная сумма.");
             return;
         }
         String date = null;
@@ -258,17 +401,14 @@ public class ConsoleApp {
         handleExpense(category, amount, date, description);
     }
 
-    private void handleExpense(String category, double amount, String date, String description) {
+    private void handleExpense(String category, long amount, String date, String description) {
         ServiceResult<?> result = financeService.addExpense(currentUser, category, amount, date, description);
-        println(messageOrDefault(result.getMessage(), "Расход добавлен."));
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "Расход добавлен.");
     }
 
     private void handleTransferInteractive() {
         String recipient = prompt("Логин получателя: ");
-        Double amount = readAmount("Сумма: ");
+        Long amount = readAmount("Сумма: ");
         if (amount == null) {
             return;
         }
@@ -279,13 +419,13 @@ public class ConsoleApp {
 
     private void handleTransferCommand(List<String> args) {
         if (args.size() < 3) {
-            println("Пример: перевод user2 1000 2026-01-01 \"описание\"");
+            fail("Пример: перевод user2 1000 2026-01-01 \"описание\"");
             return;
         }
         String recipient = args.get(1);
-        Double amount = parseAmount(args.get(2));
+        Long amount = parseAmount(args.get(2));
         if (amount == null) {
-            println("Некорректная сумма.");
+            fail("Некорректная сумма.");
             return;
         }
         String date = null;
@@ -301,13 +441,10 @@ public class ConsoleApp {
         handleTransfer(recipient, amount, date, description);
     }
 
-    private void handleTransfer(String recipient, double amount, String date, String description) {
+    private void handleTransfer(String recipient, long amount, String date, String description) {
         User receiver = authService.getUsers().get(recipient.toLowerCase(Locale.ROOT));
         ServiceResult<?> result = financeService.transfer(currentUser, receiver, amount, date, description);
-        println(messageOrDefault(result.getMessage(), "Перевод выполнен."));
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "Перевод выполнен.");
     }
 
     private void handleBudgetsMenu() {
@@ -341,37 +478,28 @@ public class ConsoleApp {
 
     private void budgetSetInteractive() {
         String category = prompt("Категория: ");
-        Double limit = readAmount("Лимит: ");
+        Long limit = readAmount("Лимит: ");
         if (limit == null) {
             return;
         }
         ServiceResult<?> result = financeService.setBudget(currentUser, category, limit);
-        println(result.getMessage());
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "");
     }
 
     private void budgetRemoveInteractive() {
         String category = prompt("Категория: ");
         ServiceResult<?> result = financeService.removeBudget(currentUser, category);
-        println(result.getMessage());
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "");
     }
 
     private void budgetUpdateInteractive() {
         String category = prompt("Категория: ");
-        Double limit = readAmount("Новый лимит: ");
+        Long limit = readAmount("Новый лимит: ");
         if (limit == null) {
             return;
         }
         ServiceResult<?> result = financeService.updateBudget(currentUser, category, limit);
-        println(result.getMessage());
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "");
     }
 
     private void showBudgets() {
@@ -411,19 +539,13 @@ public class ConsoleApp {
         String oldName = prompt("Старая категория: ");
         String newName = prompt("Новая категория: ");
         ServiceResult<?> result = financeService.renameCategory(currentUser, oldName, newName);
-        println(result.getMessage());
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "");
     }
 
     private void categoryRemoveInteractive() {
         String name = prompt("Категория: ");
         ServiceResult<?> result = financeService.removeCategory(currentUser, name);
-        println(result.getMessage());
-        if (result.isSuccess()) {
-            authService.saveAll();
-        }
+        complete(result, "");
     }
 
     private void showCategories() {
@@ -450,7 +572,7 @@ public class ConsoleApp {
                     case "1" -> buildReport(null, null, null);
                     case "2" -> buildReportByCategories();
                     case "3" -> buildReportByPeriod();
-                    case "4" -> saveLastReport();
+                    case "4" -> saveLastReport(null);
                     case "5" -> open = false;
                     default -> println("Неизвестный пункт.");
                 }
@@ -476,9 +598,15 @@ public class ConsoleApp {
         List<String> warnings = new ArrayList<>();
         List<String> missing = new ArrayList<>();
         ReportData report = financeService.buildReport(currentUser, categories, from, to, warnings, missing);
-        String text = formatReport(report, missing);
-        println(text);
-        lastReport = text;
+        try {
+            new ReportWriter(ReportWriter.Format.TEXT, tableFormatter).write(report, missing, console());
+        } catch (IOException e) {
+            fail("Не удалось вывести отчет.");
+            return;
+        }
+        println("");
+        lastReport = report;
+        lastMissing = missing;
     }
 
     private void handleReportCommand(List<String> args) {
@@ -497,17 +625,23 @@ public class ConsoleApp {
                 String to = args.size() > 3 ? args.get(3) : null;
                 buildReport(null, from, to);
             }
-            case "файл" -> saveLastReport();
-            default -> println("Неизвестная команда отчета.");
+            case "файл" -> saveLastReport(args.size() > 2 ? args.get(2) : null);
+            case "кэш" -> println("Кэш отчетов: попаданий " + financeService.getReportCache().getHitCount()
+                    + ", промахов " + financeService.getReportCache().getMissCount()
+                    + ", записей " + financeService.getReportCache().size() + ".");
+            default -> fail("Неизвестная команда отчета.");
         }
     }
 
-    private void saveLastReport() {
-        if (lastReport == null || lastReport.isEmpty()) {
+    private void saveLastReport(String path) {
+        if (!checkFileAccess()) {
+            return;
+        }
+        if (lastReport == null) {
             println("Нет отчета для сохранения.");
             return;
         }
-        String pathInput = prompt("Путь для сохранения (например, reports/report.txt): ");
+        String pathInput = path != null ? path : prompt("Путь для сохранения (reports/report.txt, .csv или .json): ");
         if (pathInput.isEmpty()) {
             println("Путь не указан.");
             return;
@@ -517,7 +651,10 @@ public class ConsoleApp {
             if (target.getParent() != null) {
                 Files.createDirectories(target.getParent());
             }
-            Files.writeString(target, lastReport);
+            try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                new ReportWriter(ReportWriter.Format.forPath(target), tableFormatter)
+                        .write(lastReport, lastMissing, writer);
+            }
             println("Отчет сохранен: " + target);
         } catch (Exception e) {
             println("Не удалось сохранить отчет.");
@@ -526,107 +663,176 @@ public class ConsoleApp {
 
     private void handleBudgetCommand(List<String> args) {
         if (args.size() < 2) {
-            println("Пример: бюджет установить \"Еда\" 4000");
+            fail("Пример: бюджет установить \"Еда\" 4000");
             return;
         }
         String sub = args.get(1).toLowerCase(Locale.ROOT);
         switch (sub) {
             case "установить", "обновить" -> {
                 if (args.size() < 4) {
-                    println("Пример: бюджет установить \"Еда\" 4000");
+                    fail("Пример: бюджет установить \"Еда\" 4000");
                     return;
                 }
                 String category = args.get(2);
-                Double limit = parseAmount(args.get(3));
+                Long limit = parseAmount(args.get(3));
                 if (limit == null) {
-                    println("Некорректный лимит.");
+                    fail("Некорректный лимит.");
                     return;
                 }
                 ServiceResult<?> result = financeService.setBudget(currentUser, category, limit);
-                println(result.getMessage());
-                if (result.isSuccess()) {
-                    authService.saveAll();
-                }
+                complete(result, "");
             }
             case "изменить" -> {
                 if (args.size() < 4) {
-                    println("Пример: бюджет изменить \"Еда\" 5000");
+                    fail("Пример: бюджет изменить \"Еда\" 5000");
                     return;
                 }
                 String category = args.get(2);
-                Double limit = parseAmount(args.get(3));
+                Long limit = parseAmount(args.get(3));
                 if (limit == null) {
-                    println("Некорректный лимит.");
+                    fail("Некорректный лимит.");
                     return;
                 }
                 ServiceResult<?> result = financeService.updateBudget(currentUser, category, limit);
-                println(result.getMessage());
-                if (result.isSuccess()) {
-                    authService.saveAll();
-                }
+                complete(result, "");
             }
             case "удалить" -> {
                 if (args.size() < 3) {
-                    println("Пример: бюджет удалить \"Еда\"");
+                    fail("Пример: бюджет удалить \"Еда\"");
                     return;
                 }
                 ServiceResult<?> result = financeService.removeBudget(currentUser, args.get(2));
-                println(result.getMessage());
-                if (result.isSuccess()) {
-                    authService.saveAll();
-                }
+                complete(result, "");
             }
             case "показать" -> showBudgets();
-            default -> println("Команда бюджета не распознана.");
+            default -> fail("Команда бюджета не распознана.");
         }
     }
 
     private void handleCategoryCommand(List<String> args) {
         if (args.size() < 2) {
-            println("Пример: категория переименовать \"Еда\" \"Питание\"");
+            fail("Пример: категория переименовать \"Еда\" \"Питание\"");
             return;
         }
         String sub = args.get(1).toLowerCase(Locale.ROOT);
         switch (sub) {
             case "переименовать" -> {
                 if (args.size() < 4) {
-                    println("Пример: категория переименовать \"Еда\" \"Питание\"");
+                    fail("Пример: категория переименовать \"Еда\" \"Питание\"");
                     return;
                 }
                 ServiceResult<?> result = financeService.renameCategory(currentUser, args.get(2), args.get(3));
-                println(result.getMessage());
-                if (result.isSuccess()) {
-                    authService.saveAll();
-                }
+                complete(result, "");
             }
             case "удалить" -> {
                 if (args.size() < 3) {
-                    println("Пример: категория удалить \"Еда\"");
+                    fail("Пример: категория удалить \"Еда\"");
                     return;
                 }
                 ServiceResult<?> result = financeService.removeCategory(currentUser, args.get(2));
-                println(result.getMessage());
-                if (result.isSuccess()) {
-                    authService.saveAll();
-                }
+                complete(result, "");
             }
             case "список" -> showCategories();
-            default -> println("Команда категории не распознана.");
+            default -> fail("Команда категории не распознана.");
         }
     }
 
-    private void handleExport() {
-        String pathInput = prompt("Файл для экспорта JSON: ");
+    private void handleExport(List<String> args) {
+        if (!checkFileAccess()) {
+            return;
+        }
+        String pathInput = args.size() > 1 ? args.get(1) : prompt("Файл для экспорта JSON: ");
         if (pathInput.isEmpty()) {
             println("Путь не указан.");
             return;
         }
         Path target = Path.of(pathInput);
-        new JsonUserRepository(target).saveAll(authService.getUsers());
-        println("Экспорт завершен.");
+        boolean pretty = true;
+        boolean gzip = pathInput.toLowerCase(Locale.ROOT).endsWith(".gz");
+        Set<String> logins = null;
+        LocalDate from = null;
+        LocalDate to = null;
+        try {
+            for (String option : args.subList(Math.min(2, args.size()), args.size())) {
+                String lower = option.toLowerCase(Locale.ROOT);
+                if (lower.equals("компактно")) {
+                    pretty = false;
+                } else if (lower.equals("gzip")) {
+                    gzip = true;
+                } else if (lower.startsWith("пользователи=")) {
+                    logins = Arrays.stream(lower.substring("пользователи=".length()).split(","))
+                            .map(String::trim)
+                            .filter(value -> !value.isEmpty())
+                            .collect(Collectors.toSet());
+                } else if (lower.startsWith("с=")) {
+                    from = LocalDate.parse(option.substring(2).trim());
+                } else if (lower.startsWith("по=")) {
+                    to = LocalDate.parse(option.substring(3).trim());
+                } else {
+                    fail("Неизвестный параметр: " + option);
+                    return;
+                }
+            }
+        } catch (DateTimeParseException e) {
+            fail("Некорректная дата. Формат: ГГГГ-ММ-ДД.");
+            return;
+        }
+        JsonExporter.Summary summary;
+        try {
+            summary = new JsonExporter(financeService).export(authService.getUsers().values(), target,
+                    new JsonExporter.Options(pretty, gzip, logins, from, to));
+        } catch (IOException e) {
+            fail("Не удалось записать файл.");
+            return;
+        }
+        println("Экспорт завершен. Пользователей: " + summary.users() + ", операций: " + summary.transactions() + ".");
+    }
+
+    private void handleStoreReport() {
+        if (!checkAdminAccess()) {
+            return;
+        }
+        long started = System.nanoTime();
+        StoreReport report = new StoreReportService(financeService).build(authService.getUsers().values());
+        println("Пользователей: " + report.getUsers() + ", прочитано из хранилища без загрузки: "
+                + report.getDetachedWallets() + ".");
+        println("Общий баланс: " + Money.format(report.getTotalBalance()));
+        if (!report.getIncomeByCategory().isEmpty()) {
+            println("Доходы по категориям:");
+            printTable(report.getIncomeByCategory(), "Категория");
+        }
+        if (!report.getExpenseByCategory().isEmpty()) {
+            println("Расходы по категориям:");
+            printTable(report.getExpenseByCategory(), "Категория");
+        }
+        if (!report.getTransfersByMonth().isEmpty()) {
+            Map<String, Long> transfers = new LinkedHashMap<>();
+            report.getTransfersByMonth().forEach((month, amount) -> transfers.put(month.toString(), amount));
+            println("Переводы по месяцам:");
+            printTable(transfers, "Месяц");
+        }
+        println(String.format(Locale.ROOT, "Сводка построена за %d мс.", (System.nanoTime() - started) / 1_000_000));
+    }
+
+    private void handleStatus() {
+        if (!checkAdminAccess()) {
+            return;
+        }
+        println("Пользователей: " + authService.getUsers().size() + ", с несохраненными изменениями: "
+                + authService.countDirtyUsers() + ", сохранено пользователей с запуска: "
+                + authService.getFlushedUserCount() + ".");
+        PagedUserRepository paged = services.getPagedRepository();
+        if (paged != null) {
+            println("Постраничное хранилище: загружено кошельков: " + paged.getPagedInCount()
+                    + ", записано сегментов: " + paged.getSegmentWriteCount()
+                    + ", записей индекса: " + paged.getIndexWriteCount() + ".");
+        }
     }
 
     private void handleImport() {
+        if (!checkFileAccess()) {
+            return;
+        }
         String pathInput = prompt("Файл для импорта JSON: ");
         if (pathInput.isEmpty()) {
             println("Путь не указан.");
@@ -637,35 +843,105 @@ public class ConsoleApp {
             println("Файл не найден.");
             return;
         }
-        Map<String, User> imported = new JsonUserRepository(source).loadAll();
-        authService.replaceAll(imported);
-        println( "импорт завершен. Пользователей: " + imported.size());
+        JsonMergeImporter.Summary summary;
+        try {
+            summary = new JsonMergeImporter(authService, financeService).importFile(source);
+        } catch (IOException e) {
+            fail("Не удалось прочитать файл.");
+            return;
+        }
+        if (!batch) {
+            save();
+        }
+        println("Импорт завершен. Пользователей: " + summary.users() + " (новых: " + summary.createdUsers()
+                + "), добавлено операций: " + summary.addedTransactions() + ", уже было: "
+                + summary.duplicateTransactions() + ", пропущено некорректных: " + summary.skippedTransactions()
+                + ", добавлено бюджетов: " + summary.addedBudgets() + ".");
     }
 
-    private String formatReport(ReportData report, List<String> missing) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Общий доход: %.2f%n", report.getTotalIncome()));
-        sb.append(String.format("Общие расходы: %.2f%n", report.getTotalExpense()));
-        sb.append(System.lineSeparator());
-        if (!report.getIncomeByCategory().isEmpty()) {
-            sb.append("Доходы по категориям:").append(System.lineSeparator());
-            sb.append(tableFormatter.formatTwoColumn(report.getIncomeByCategory(), "Категория", "Сумма"));
+    private void handleCsvImport(List<String> args) {
+        if (!checkFileAccess()) {
+            return;
         }
-        if (!report.getExpenseByCategory().isEmpty()) {
-            sb.append("Расходы по категориям:").append(System.lineSeparator());
-            sb.append(tableFormatter.formatTwoColumn(report.getExpenseByCategory(), "Категория", "Сумма"));
+        if (args.size() < 2) {
+            fail("Пример: импорт-csv выписка.csv дата=1 сумма=2 категория=3 описание=4 разделитель=; формат=dd.MM.yyyy");
+            return;
+        }
+        Path source = Path.of(args.get(1));
+        if (!Files.exists(source)) {
+            fail("Файл не найден.");
+            return;
+        }
+        CsvMapping defaults = CsvMapping.defaults();
+        char delimiter = defaults.getDelimiter();
+        boolean header = defaults.hasHeader();
+        String date = "date";
+        String amount = "amount";
+        String category = "category";
+        String description = "description";
+        String datePattern = null;
+        for (String option : args.subList(2, args.size())) {
+            int separator = option.indexOf('=');
+            if (separator <= 0 || separator == option.length() - 1) {
+                fail("Некорректный параметр: " + option);
+                return;
+            }
+            String value = option.substring(separator + 1);
+            switch (option.substring(0, separator).toLowerCase(Locale.ROOT)) {
+                case "дата" -> date = value;
+                case "сумма" -> amount = value;
+                case "категория" -> category = value;
+                case "описание" -> description = value;
+                case "разделитель" -> delimiter = value.equalsIgnoreCase("tab") ? '\t' : value.charAt(0);
+                case "формат" -> datePattern = value;
+                case "заголовок" -> header = !value.equalsIgnoreCase("нет");
+                default -> {
+                    fail("Неизвестный параметр: " + option);
+                    return;
+                }
+            }
+        }
+        ImportResult result;
+        try {
+            CsvMapping mapping = new CsvMapping(delimiter, header, date, amount, category, description,
+                    datePattern, defaults.getDefaultCategory());
+            result = new CsvStatementImporter(financeService, mapping).importFile(currentUser, source);
+        } catch (IllegalArgumentException e) {
+            fail(e.getMessage());
+            return;
+        } catch (IOException e) {
+            fail("Не удалось прочитать файл.");
+            return;
+        }
+        println("Импортировано операций: " + result.getImported() + ", ошибок: " + result.getErrorCount() + ".");
+        result.getErrors().stream()
+                .limit(10)
+                .forEach(error -> println("Строка " + error.getIndex() + ": " + error.getMessage()));
+        if (!result.getNotifications().isEmpty()) {
+            println(result.getNotifications());
         }
-        if (!report.getBudgets().isEmpty()) {
-            sb.append("Бюджет по категориям:").append(System.lineSeparator());
-            sb.append(tableFormatter.formatBudgets(report.getBudgets()));
+        if (result.hasErrors()) {
+            commandFailed = true;
         }
-        if (!missing.isEmpty()) {
-            sb.append("Категории не найдены: ").append(String.join(", ", missing)).append(System.lineSeparator());
+        if (result.getImported() > 0 && !batch) {
+            save();
         }
-        if (report.getWarnings() != null && !report.getWarnings().isEmpty()) {
-            sb.append("Уведомления: ").append(String.join(" ", report.getWarnings())).append(System.lineSeparator());
+    }
+
+    private boolean checkAdminAccess() {
+        if (access != Access.ADMIN) {
+            fail("Команда доступна только администратору: запустите приложение с флагом --admin.");
+            return false;
         }
-        return sb.toString();
+        return true;
+    }
+
+    private boolean checkFileAccess() {
+        if (access == Access.REMOTE) {
+            fail("Команда недоступна в сетевом сеансе: она работает с файлами сервера.");
+            return false;
+        }
+        return true;
     }
 
     private List<String> parseCategories(String raw) {
@@ -678,21 +954,21 @@ public class ConsoleApp {
                 .collect(Collectors.toList());
     }
 
-    private Double readAmount(String prompt) {
+    private Long readAmount(String prompt) {
         String input = prompt(prompt);
-        Double amount = parseAmount(input);
+        Long amount = parseAmount(input);
         if (amount == null) {
-            println("Некорректная сумма.");
+            fail("Некорректная сумма.");
         }
         return amount;
     }
 
-    private Double parseAmount(String input) {
+    private Long parseAmount(String input) {
         if (input == null || input.trim().isEmpty()) {
             return null;
         }
         try {
-            return Double.parseDouble(input.replace(",", "."));
+            return Money.parse(input);
         } catch (NumberFormatException e) {
             return null;
         }
@@ -703,12 +979,81 @@ public class ConsoleApp {
     }
 
     private String prompt(String message) {
-        System.out.print(message);
-        return scanner.nextLine().trim();
+        if (batch) {
+            fail("Команда требует ввода и недоступна в пакетном режиме.");
+            return "";
+        }
+        out.print(message);
+        out.flush();
+        String line;
+        try {
+            line = in.readLine();
+        } catch (IOException e) {
+            line = null;
+        }
+        if (line == null) {
+            throw new EndOfInput();
+        }
+        return line.trim();
+    }
+
+    private void printTable(Map<String, Long> data, String header) {
+        try {
+            tableFormatter.writeTwoColumn(data, header, "Сумма", console());
+        } catch (IOException e) {
+            fail("Не удалось вывести таблицу.");
+            return;
+        }
+        println("");
+    }
+
+    private Writer console() {
+        return commandOutput != null ? commandOutput : out;
     }
 
     private void println(String message) {
-        System.out.println(message);
+        if (commandOutput != null) {
+            commandOutput.append(message).append(System.lineSeparator());
+            return;
+        }
+        out.println(message);
+    }
+
+    private boolean save() {
+        try {
+            authService.saveAll();
+            return true;
+        } catch (UncheckedIOException e) {
+            fail("Не удалось сохранить данные: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void fail(String message) {
+        println(message);
+        commandFailed = true;
+    }
+
+    private void complete(ServiceResult<?> result, String defaultMessage) {
+        println(messageOrDefault(result.getMessage(), defaultMessage));
+        if (!result.isSuccess()) {
+            commandFailed = true;
+        } else if (!batch) {
+            save();
+        }
+    }
+
+    private static LoadProgressListener loadProgressPrinter() {
+        long[] lastPrinted = {System.nanoTime()};
+        return (users, transactions, bytesRead) -> {
+            long now = System.nanoTime();
+            if (now - lastPrinted[0] < 1_000_000_000L) {
+                return;
+            }
+            lastPrinted[0] = now;
+            System.out.println(String.format("Загрузка данных: пользователей %d, операций %d, прочитано %.1f МБ",
+                    users, transactions, bytesRead / (1024.0 * 1024.0)));
+        };
     }
 
     private String messageOrDefault(String message, String defaultMessage) {
@@ -734,9 +1079,24 @@ public class ConsoleApp {
         println("- отчет");
         println("- отчет категории \"Еда, Такси\"");
         println("- отчет период 2026-01-01 2026-01-31");
-        println("- отчет файл");
+        println("- отчет файл reports/report.csv (формат по расширению: .txt, .csv, .json)");
+        println("- отчет кэш");
+        println("- экспорт data/export.json.gz компактно пользователи=user1,user2 с=2026-01-01 по=2026-01-31");
         println("- экспорт / импорт");
+        println("- сводка");
+        println("- статус");
+        println("- импорт-csv выписка.csv дата=1 сумма=2 категория=3 описание=4 разделитель=; формат=dd.MM.yyyy");
         println("- выход / выйти");
         println("Подсказка: категории с пробелами вводите в кавычках.");
     }
+
+    public enum Access {
+        LOCAL,
+        ADMIN,
+        REMOTE
+    }
+
+    private static final class EndOfInput extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
 }
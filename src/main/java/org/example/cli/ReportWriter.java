@@ -0,0 +1,169 @@
+package org.example.cli;
+
+import com.google.gson.stream.JsonWriter;
+import org.example.core.model.Money;
+import org.example.core.service.BudgetStatus;
+import org.example.core.service.ReportData;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class ReportWriter {
+    private final Format format;
+    private final TableFormatter tableFormatter;
+
+    public ReportWriter(Format format) {
+        this(format, new TableFormatter());
+    }
+
+    public ReportWriter(Format format, TableFormatter tableFormatter) {
+        this.format = format;
+        this.tableFormatter = tableFormatter;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void write(ReportData report, List<String> missing, Writer out) throws IOException {
+        switch (format) {
+            case TEXT -> writeText(report, missing, out);
+            case CSV -> writeCsv(report, missing, out);
+            case JSON -> writeJson(report, missing, out);
+        }
+        out.flush();
+    }
+
+    private void writeText(ReportData report, List<String> missing, Writer out) throws IOException {
+        line(out, "Общий доход: " + Money.format(report.getTotalIncome()));
+        line(out, "Общие расходы: " + Money.format(report.getTotalExpense()));
+        line(out, "");
+        if (!report.getIncomeByCategory().isEmpty()) {
+            line(out, "Доходы по категориям:");
+            tableFormatter.writeTwoColumn(report.getIncomeByCategory(), "Категория", "Сумма", out);
+        }
+        if (!report.getExpenseByCategory().isEmpty()) {
+            line(out, "Расходы по категориям:");
+            tableFormatter.writeTwoColumn(report.getExpenseByCategory(), "Категория", "Сумма", out);
+        }
+        if (!report.getBudgets().isEmpty()) {
+            line(out, "Бюджет по категориям:");
+            tableFormatter.writeBudgets(report.getBudgets(), out);
+        }
+        if (!missing.isEmpty()) {
+            line(out, "Категории не найдены: " + String.join(", ", missing));
+        }
+        if (report.getWarnings() != null && !report.getWarnings().isEmpty()) {
+            line(out, "Уведомления: " + String.join(" ", report.getWarnings()));
+        }
+    }
+
+    private void writeCsv(ReportData report, List<String> missing, Writer out) throws IOException {
+        line(out, "section,name,amount,limit,remaining");
+        csvRow(out, "total_income", "", Money.format(report.getTotalIncome()), "", "");
+        csvRow(out, "total_expense", "", Money.format(report.getTotalExpense()), "", "");
+        for (Map.Entry<String, Long> entry : report.getIncomeByCategory().entrySet()) {
+            csvRow(out, "income", entry.getKey(), Money.format(entry.getValue()), "", "");
+        }
+        for (Map.Entry<String, Long> entry : report.getExpenseByCategory().entrySet()) {
+            csvRow(out, "expense", entry.getKey(), Money.format(entry.getValue()), "", "");
+        }
+        for (Map.Entry<String, BudgetStatus> entry : report.getBudgets().entrySet()) {
+            BudgetStatus status = entry.getValue();
+            csvRow(out, "budget", entry.getKey(), Money.format(status.getSpent()),
+                    Money.format(status.getLimit()), Money.format(status.getRemaining()));
+        }
+        for (String category : missing) {
+            csvRow(out, "missing", category, "", "", "");
+        }
+        if (report.getWarnings() != null) {
+            for (String warning : report.getWarnings()) {
+                csvRow(out, "warning", warning, "", "", "");
+            }
+        }
+    }
+
+    private void writeJson(ReportData report, List<String> missing, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("totalIncome").value(Money.toDecimal(report.getTotalIncome()));
+        writer.name("totalExpense").value(Money.toDecimal(report.getTotalExpense()));
+        writeAmounts(writer, "incomeByCategory", report.getIncomeByCategory());
+        writeAmounts(writer, "expenseByCategory", report.getExpenseByCategory());
+        writer.name("budgets").beginObject();
+        for (Map.Entry<String, BudgetStatus> entry : report.getBudgets().entrySet()) {
+            BudgetStatus status = entry.getValue();
+            writer.name(entry.getKey()).beginObject();
+            writer.name("limit").value(Money.toDecimal(status.getLimit()));
+            writer.name("spent").value(Money.toDecimal(status.getSpent()));
+            writer.name("remaining").value(Money.toDecimal(status.getRemaining()));
+            writer.endObject();
+        }
+        writer.endObject();
+        writer.name("missingCategories").beginArray();
+        for (String category : missing) {
+            writer.value(category);
+        }
+        writer.endArray();
+        writer.name("warnings").beginArray();
+        if (report.getWarnings() != null) {
+            for (String warning : report.getWarnings()) {
+                writer.value(warning);
+            }
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+        out.write(System.lineSeparator());
+    }
+
+    private static void writeAmounts(JsonWriter writer, String name, Map<String, Long> amounts) throws IOException {
+        writer.name(name).beginObject();
+        for (Map.Entry<String, Long> entry : amounts.entrySet()) {
+            writer.name(entry.getKey()).value(Money.toDecimal(entry.getValue()));
+        }
+        writer.endObject();
+    }
+
+    private static void csvRow(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = fields[i];
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0
+                    || field.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(field);
+            }
+        }
+        out.write(System.lineSeparator());
+    }
+
+    private static void line(Writer out, String text) throws IOException {
+        out.write(text);
+        out.write(System.lineSeparator());
+    }
+
+    public enum Format {
+        TEXT,
+        CSV,
+        JSON;
+
+        public static Format forPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            return name.endsWith(".json") ? JSON : TEXT;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.cli;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionServer implements Closeable {
+    private final AppServices services;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private volatile boolean closed;
+
+    public SessionServer(AppServices services, int port) throws IOException {
+        this(services, port, InetAddress.getLoopbackAddress());
+    }
+
+    public SessionServer(AppServices services, int port, InetAddress address) throws IOException {
+        this.services = services;
+        this.serverSocket = new ServerSocket(port, 128, address);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public int getActiveCount() {
+        return connections.size();
+    }
+
+    public void serve() {
+        int failures = 0;
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (closed || serverSocket.isClosed()) {
+                    return;
+                }
+                failures++;
+                if (!backOff(failures)) {
+                    return;
+                }
+                continue;
+            }
+            failures = 0;
+            accepted.incrementAndGet();
+            connections.add(socket);
+            sessions.submit(() -> handle(socket));
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            new ConsoleApp(services, in, out, ConsoleApp.Access.REMOTE).run();
+        } catch (IOException e) {
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private static boolean backOff(int failures) {
+        try {
+            Thread.sleep(Math.min(MAX_ACCEPT_BACKOFF_MILLIS, 10L << Math.min(failures, 10)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+            }
+        }
+        sessions.shutdown();
+        try {
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        services.close();
+    }
+}
@@ -1,42 +1,99 @@
 package org.example.cli;
 
+import org.example.core.model.Money;
 import org.example.core.service.BudgetStatus;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Map;
 
 public class TableFormatter {
-    public String formatTwoColumn(Map<String, Double> data, String headerLeft, String headerRight) {
+    public String formatTwoColumn(Map<String, Long> data, String headerLeft, String headerRight) {
+        StringWriter sb = new StringWriter();
+        try {
+            writeTwoColumn(data, headerLeft, headerRight, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    public String formatBudgets(Map<String, BudgetStatus> data) {
+        StringWriter sb = new StringWriter();
+        try {
+            writeBudgets(data, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    public void writeTwoColumn(Map<String, Long> data, String headerLeft, String headerRight, Writer out)
+            throws IOException {
         int leftWidth = headerLeft.length();
         for (String key : data.keySet()) {
             leftWidth = Math.max(leftWidth, key.length());
         }
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-" + leftWidth + "s | %s%n", headerLeft, headerRight));
-        sb.append("-".repeat(leftWidth)).append("-+-").append("-".repeat(headerRight.length())).append(System.lineSeparator());
-        for (Map.Entry<String, Double> entry : data.entrySet()) {
-            sb.append(String.format("%-" + leftWidth + "s | %.2f%n", entry.getKey(), entry.getValue()));
+        padRight(out, headerLeft, leftWidth);
+        out.write(" | ");
+        out.write(headerRight);
+        out.write(System.lineSeparator());
+        out.write("-".repeat(leftWidth));
+        out.write("-+-");
+        out.write("-".repeat(headerRight.length()));
+        out.write(System.lineSeparator());
+        for (Map.Entry<String, Long> entry : data.entrySet()) {
+            padRight(out, entry.getKey(), leftWidth);
+            out.write(" | ");
+            out.write(Money.format(entry.getValue()));
+            out.write(System.lineSeparator());
         }
-        return sb.toString();
     }
 
-    public String formatBudgets(Map<String, BudgetStatus> data) {
+    public void writeBudgets(Map<String, BudgetStatus> data, Writer out) throws IOException {
         String headerLeft = "Категория";
-        String headerLimit = "Лимит";
-        String headerRemaining = "Остаток";
         int leftWidth = headerLeft.length();
         for (String key : data.keySet()) {
             leftWidth = Math.max(leftWidth, key.length());
         }
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-" + leftWidth + "s | %10s | %10s%n", headerLeft, headerLimit, headerRemaining));
-        sb.append("-".repeat(leftWidth)).append("-+-")
-                .append("-".repeat(10)).append("-+-")
-                .append("-".repeat(10)).append(System.lineSeparator());
+        padRight(out, headerLeft, leftWidth);
+        out.write(" | ");
+        padLeft(out, "Лимит", 10);
+        out.write(" | ");
+        padLeft(out, "Остаток", 10);
+        out.write(System.lineSeparator());
+        out.write("-".repeat(leftWidth));
+        out.write("-+-");
+        out.write("-".repeat(10));
+        out.write("-+-");
+        out.write("-".repeat(10));
+        out.write(System.lineSeparator());
         for (Map.Entry<String, BudgetStatus> entry : data.entrySet()) {
             BudgetStatus status = entry.getValue();
-            sb.append(String.format("%-" + leftWidth + "s | %10.2f | %10.2f%n",
-                    entry.getKey(), status.getLimit(), status.getRemaining()));
+            padRight(out, entry.getKey(), leftWidth);
+            out.write(" | ");
+            padLeft(out, Money.format(status.getLimit()), 10);
+            out.write(" | ");
+            padLeft(out, Money.format(status.getRemaining()), 10);
+            out.write(System.lineSeparator());
+        }
+    }
+
+    private static void padRight(Writer out, String text, int width) throws IOException {
+        out.write(text);
+        pad(out, width - text.length());
+    }
+
+    private static void padLeft(Writer out, String text, int width) throws IOException {
+        pad(out, width - text.length());
+        out.write(text);
+    }
+
+    private static void pad(Writer out, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.write(' ');
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,123 @@
+package org.example.core.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+class CategoryIndex {
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    Entry get(String category) {
+        return category == null ? null : entries.get(fold(category));
+    }
+
+    Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    void addTransaction(String category, int position) {
+        if (category != null) {
+            entries.computeIfAbsent(fold(category), key -> new Entry()).append(position);
+        }
+    }
+
+    void addBudget(String category) {
+        Entry entry = entries.computeIfAbsent(fold(category), key -> new Entry());
+        if (entry.budgetName == null) {
+            entry.budgetName = category;
+        }
+    }
+
+    void removeBudget(String category, Collection<String> remainingBudgets) {
+        String key = fold(category);
+        Entry entry = entries.get(key);
+        if (entry == null || !category.equals(entry.budgetName)) {
+            return;
+        }
+        entry.budgetName = null;
+        for (String other : remainingBudgets) {
+            if (fold(other).equals(key)) {
+                entry.budgetName = other;
+                break;
+            }
+        }
+        if (entry.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    void moveTransactions(String from, String to) {
+        String fromKey = fold(from);
+        String toKey = fold(to);
+        if (fromKey.equals(toKey)) {
+            return;
+        }
+        Entry source = entries.get(fromKey);
+        if (source == null || source.size == 0) {
+            return;
+        }
+        Entry target = entries.computeIfAbsent(toKey, key -> new Entry());
+        target.mergePositions(source);
+        source.positions = new int[4];
+        source.size = 0;
+        if (source.isEmpty()) {
+            entries.remove(fromKey);
+        }
+    }
+
+    static final class Entry {
+        private int[] positions = new int[4];
+        private int size;
+        private String budgetName;
+
+        int size() {
+            return size;
+        }
+
+        int position(int index) {
+            return positions[index];
+        }
+
+        String budgetName() {
+            return budgetName;
+        }
+
+        boolean isEmpty() {
+            return size == 0 && budgetName == null;
+        }
+
+        private void append(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private void mergePositions(Entry other) {
+            int[] merged = new int[Math.max(4, size + other.size)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size && j < other.size) {
+                merged[k++] = positions[i] <= other.positions[j] ? positions[i++] : other.positions[j++];
+            }
+            while (i < size) {
+                merged[k++] = positions[i++];
+            }
+            while (j < other.size) {
+                merged[k++] = other.positions[j++];
+            }
+            positions = merged;
+            size = k;
+        }
+    }
+}
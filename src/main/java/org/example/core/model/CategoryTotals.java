@@ -0,0 +1,68 @@
+package org.example.core.model;
+
+public class CategoryTotals {
+    private long income;
+    private int incomeCount;
+    private long expense;
+    private int expenseCount;
+
+    public CategoryTotals() {
+    }
+
+    CategoryTotals(long income, int incomeCount, long expense, int expenseCount) {
+        this.income = income;
+        this.incomeCount = incomeCount;
+        this.expense = expense;
+        this.expenseCount = expenseCount;
+    }
+
+    public long getIncome() {
+        return income;
+    }
+
+    public int getIncomeCount() {
+        return incomeCount;
+    }
+
+    public long getExpense() {
+        return expense;
+    }
+
+    public int getExpenseCount() {
+        return expenseCount;
+    }
+
+    void add(Transaction transaction, int sign) {
+        if (transaction.getType() == null) {
+            return;
+        }
+        if (transaction.getType().isIncoming()) {
+            income += sign * transaction.getAmount();
+            incomeCount += sign;
+        } else {
+            expense += sign * transaction.getAmount();
+            expenseCount += sign;
+        }
+    }
+
+    void add(long income, int incomeCount, long expense, int expenseCount) {
+        this.income += income;
+        this.incomeCount += incomeCount;
+        this.expense += expense;
+        this.expenseCount += expenseCount;
+    }
+
+    void merge(CategoryTotals other) {
+        income += other.income;
+        incomeCount += other.incomeCount;
+        expense += other.expense;
+        expenseCount += other.expenseCount;
+    }
+
+    void subtract(CategoryTotals other) {
+        income -= other.income;
+        incomeCount -= other.incomeCount;
+        expense -= other.expense;
+        expenseCount -= other.expenseCount;
+    }
+}
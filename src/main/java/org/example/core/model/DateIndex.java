@@ -0,0 +1,119 @@
+package org.example.core.model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+class DateIndex {
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private long[] days = new long[16];
+    private int[] positions = new int[16];
+    private int size;
+    private int[] undated = new int[4];
+    private int undatedSize;
+
+    static long epochDay(String date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        if (date.length() == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            int day = digits(date, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day).toEpochDay();
+                } catch (DateTimeException e) {
+                    return NO_DATE;
+                }
+            }
+        }
+        String trimmed = date.trim();
+        if (trimmed.isEmpty()) {
+            return NO_DATE;
+        }
+        try {
+            return LocalDate.parse(trimmed, DateTimeFormatter.ISO_LOCAL_DATE).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    void add(long day, int position) {
+        if (day == NO_DATE) {
+            if (undatedSize == undated.length) {
+                undated = Arrays.copyOf(undated, undatedSize * 2);
+            }
+            undated[undatedSize++] = position;
+            return;
+        }
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        int at = upperBound(day);
+        System.arraycopy(days, at, days, at + 1, size - at);
+        System.arraycopy(positions, at, positions, at + 1, size - at);
+        days[at] = day;
+        positions[at] = position;
+        size++;
+    }
+
+    int[] range(long fromDay, long toDay) {
+        return range(fromDay, toDay, true);
+    }
+
+    int[] range(long fromDay, long toDay, boolean withUndated) {
+        int start = fromDay == NO_DATE ? 0 : lowerBound(fromDay);
+        int end = toDay == NO_DATE ? size : upperBound(toDay);
+        int count = Math.max(0, end - start);
+        int extra = withUndated ? undatedSize : 0;
+        int[] result = new int[count + extra];
+        System.arraycopy(positions, start, result, 0, count);
+        System.arraycopy(undated, 0, result, count, extra);
+        return result;
+    }
+
+    private int lowerBound(long day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.core.model;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+class IdIndex {
+    private final Set<String> texts = new HashSet<>();
+    private long[] high = new long[16];
+    private long[] low = new long[16];
+    private boolean[] used = new boolean[16];
+    private int size;
+
+    void add(TransactionTable table, int row) {
+        if (table.hasUuidId(row)) {
+            addUuid(table.idHigh(row), table.idLow(row));
+        } else {
+            texts.add(table.id(row));
+        }
+    }
+
+    boolean contains(String id) {
+        UUID uuid = TransactionTable.parseUuid(id);
+        if (uuid == null) {
+            return texts.contains(id);
+        }
+        long h = uuid.getMostSignificantBits();
+        long l = uuid.getLeastSignificantBits();
+        int mask = used.length - 1;
+        for (int slot = slot(h, l, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (high[slot] == h && low[slot] == l) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addUuid(long h, long l) {
+        if ((size + 1) * 2 > used.length) {
+            rehash(used.length * 2);
+        }
+        int mask = used.length - 1;
+        int slot = slot(h, l, mask);
+        while (used[slot]) {
+            if (high[slot] == h && low[slot] == l) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        high[slot] = h;
+        low[slot] = l;
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHigh = high;
+        long[] oldLow = low;
+        boolean[] oldUsed = used;
+        high = new long[capacity];
+        low = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                addUuid(oldHigh[i], oldLow[i]);
+            }
+        }
+    }
+
+    private static int slot(long h, long l, int mask) {
+        long value = h * 0x9E3779B97F4A7C15L ^ l;
+        value ^= value >>> 32;
+        value *= 0xFF51AFD7ED558CCDL;
+        return (int) (value ^ (value >>> 29)) & mask;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.core.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money {
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    public static long parse(String text) {
+        BigDecimal value = new BigDecimal(text.trim().replace(",", "."));
+        if (value.stripTrailingZeros().scale() > SCALE) {
+            throw new NumberFormatException("Too many fraction digits: " + text);
+        }
+        return toMinor(value);
+    }
+
+    public static long fromDecimal(BigDecimal value) {
+        return toMinor(value.setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    public static long ofMajor(long value) {
+        return Math.multiplyExact(value, MINOR_PER_MAJOR);
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static String format(long minor) {
+        return toDecimal(minor).toPlainString();
+    }
+
+    private static long toMinor(BigDecimal value) {
+        try {
+            return value.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + value);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.core.model;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+class MonthlyRollup {
+    private final TreeMap<Integer, Map<String, CategoryTotals>> months = new TreeMap<>();
+    private final Map<String, CategoryTotals> undated = new HashMap<>();
+
+    static int month(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    static LocalDate firstDay(int month) {
+        return LocalDate.of(Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1, 1);
+    }
+
+    void add(long epochDay, String category, TransactionType type, long amount, int sign) {
+        if (type == null || category == null) {
+            return;
+        }
+        Map<String, CategoryTotals> cells = epochDay == DateIndex.NO_DATE
+                ? undated
+                : months.computeIfAbsent(month(LocalDate.ofEpochDay(epochDay)), key -> new HashMap<>());
+        CategoryTotals cell = cells.computeIfAbsent(category, key -> new CategoryTotals());
+        if (type.isIncoming()) {
+            cell.add(sign * amount, sign, 0, 0);
+        } else {
+            cell.add(0, 0, sign * amount, sign);
+        }
+    }
+
+    void rename(String from, String to) {
+        for (Map<String, CategoryTotals> cells : months.values()) {
+            rename(cells, from, to);
+        }
+        rename(undated, from, to);
+    }
+
+    void remove(String category) {
+        for (Map<String, CategoryTotals> cells : months.values()) {
+            remove(cells, category);
+        }
+        remove(undated, category);
+    }
+
+    Map<String, CategoryTotals> sum(int fromMonth, int toMonth, Set<String> foldedCategories) {
+        Map<String, CategoryTotals> result = new HashMap<>();
+        for (Map<String, CategoryTotals> cells : months.subMap(fromMonth, true, toMonth, true).values()) {
+            collect(cells, foldedCategories, result);
+        }
+        collect(undated, foldedCategories, result);
+        return result;
+    }
+
+    private static void collect(Map<String, CategoryTotals> cells, Set<String> foldedCategories,
+                                Map<String, CategoryTotals> result) {
+        for (Map.Entry<String, CategoryTotals> cell : cells.entrySet()) {
+            if (foldedCategories == null || foldedCategories.contains(CategoryIndex.fold(cell.getKey()))) {
+                result.computeIfAbsent(cell.getKey(), key -> new CategoryTotals()).merge(cell.getValue());
+            }
+        }
+    }
+
+    private static void rename(Map<String, CategoryTotals> cells, String from, String to) {
+        CategoryTotals moved = null;
+        Iterator<Map.Entry<String, CategoryTotals>> it = cells.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CategoryTotals> cell = it.next();
+            if (from.equalsIgnoreCase(cell.getKey())) {
+                if (moved == null) {
+                    moved = new CategoryTotals();
+                }
+                moved.merge(cell.getValue());
+                it.remove();
+            }
+        }
+        if (moved != null) {
+            cells.computeIfAbsent(to, key -> new CategoryTotals()).merge(moved);
+        }
+    }
+
+    private static void remove(Map<String, CategoryTotals> cells, String category) {
+        cells.keySet().removeIf(category::equalsIgnoreCase);
+    }
+}
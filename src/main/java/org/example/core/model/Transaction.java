@@ -4,7 +4,7 @@ public class Transaction {
     private String id;
     private TransactionType type;
     private String category;
-    private double amount;
+    private long amount;
     private String description;
     private String date;
     private String counterparty;
@@ -12,7 +12,7 @@ public class Transaction {
     public Transaction() {
     }
 
-    public Transaction(String id, TransactionType type, String category, double amount,
+    public Transaction(String id, TransactionType type, String category, long amount,
                        String description, String date, String counterparty) {
         this.id = id;
         this.type = type;
@@ -35,7 +35,7 @@ public class Transaction {
         return category;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
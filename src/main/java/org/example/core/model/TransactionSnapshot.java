@@ -0,0 +1,147 @@
+package org.example.core.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class TransactionSnapshot {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int MIN_PARTITION = 16_384;
+
+    private final String[] names;
+    private final byte[] types;
+    private final int[] categories;
+    private final long[] amounts;
+    private final long[] days;
+    private final int[] rows;
+    private final Map<String, CategoryTotals> base;
+
+    TransactionSnapshot(String[] names, byte[] types, int[] categories, long[] amounts, long[] days, int[] rows,
+                        Map<String, CategoryTotals> base) {
+        this.names = names;
+        this.types = types;
+        this.categories = categories;
+        this.amounts = amounts;
+        this.days = days;
+        this.rows = rows;
+        this.base = base;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public Map<String, CategoryTotals> sumByCategory() {
+        return sumByCategory(Integer.MAX_VALUE);
+    }
+
+    public Map<String, CategoryTotals> sumByCategory(int parallelThreshold) {
+        Sums sums;
+        if (rows.length >= parallelThreshold && rows.length > MIN_PARTITION) {
+            int partition = Math.max(MIN_PARTITION, rows.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            sums = ForkJoinPool.commonPool().invoke(new SumTask(0, rows.length, partition));
+        } else {
+            sums = sum(0, rows.length);
+        }
+        Map<String, CategoryTotals> result = new HashMap<>();
+        for (int id = 0; id < names.length; id++) {
+            if (sums.incomeCount[id] > 0 || sums.expenseCount[id] > 0) {
+                result.put(names[id], new CategoryTotals(sums.income[id], sums.incomeCount[id],
+                        sums.expense[id], sums.expenseCount[id]));
+            }
+        }
+        for (Map.Entry<String, CategoryTotals> entry : base.entrySet()) {
+            result.computeIfAbsent(entry.getKey(), key -> new CategoryTotals()).merge(entry.getValue());
+        }
+        return result;
+    }
+
+    public Map<YearMonth, Long> sumByMonth(TransactionType type) {
+        Map<YearMonth, Long> result = new TreeMap<>();
+        for (int row : rows) {
+            if (types[row] != type.ordinal() || days[row] < TransactionTable.MIN_DAY) {
+                continue;
+            }
+            result.merge(YearMonth.from(LocalDate.ofEpochDay(days[row])), amounts[row], Long::sum);
+        }
+        return result;
+    }
+
+    private Sums sum(int from, int to) {
+        Sums sums = new Sums(names.length);
+        boolean[] incoming = new boolean[TYPES.length];
+        for (TransactionType type : TYPES) {
+            incoming[type.ordinal()] = type.isIncoming();
+        }
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            byte type = types[row];
+            int category = categories[row];
+            if (type < 0 || category < 0) {
+                continue;
+            }
+            if (incoming[type]) {
+                sums.income[category] += amounts[row];
+                sums.incomeCount[category]++;
+            } else {
+                sums.expense[category] += amounts[row];
+                sums.expenseCount[category]++;
+            }
+        }
+        return sums;
+    }
+
+    private static final class Sums {
+        private final long[] income;
+        private final long[] expense;
+        private final int[] incomeCount;
+        private final int[] expenseCount;
+
+        private Sums(int nameCount) {
+            income = new long[nameCount];
+            expense = new long[nameCount];
+            incomeCount = new int[nameCount];
+            expenseCount = new int[nameCount];
+        }
+
+        private Sums merge(Sums other) {
+            for (int id = 0; id < income.length; id++) {
+                income[id] += other.income[id];
+                expense[id] += other.expense[id];
+                incomeCount[id] += other.incomeCount[id];
+                expenseCount[id] += other.expenseCount[id];
+            }
+            return this;
+        }
+    }
+
+    private final class SumTask extends RecursiveTask<Sums> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int partition;
+
+        private SumTask(int from, int to, int partition) {
+            this.from = from;
+            this.to = to;
+            this.partition = partition;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (to - from <= partition) {
+                return sum(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(from, middle, partition);
+            left.fork();
+            Sums right = new SumTask(middle, to, partition).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package org.example.core.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class TransactionTable {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    static final long MIN_DAY = LocalDate.MIN.toEpochDay();
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_TEXT = -1;
+    private static final int EMPTY_TEXT = -2;
+    private static final int UUID_ID = -3;
+    private static final int MIN_GARBAGE_TEXTS = 1024;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private List<String> texts = new ArrayList<>();
+    private long[] idHigh;
+    private long[] idLow;
+    private int[] idTexts;
+    private long[] days;
+    private long[] amounts;
+    private byte[] types;
+    private int[] categories;
+    private int[] counterparties;
+    private int[] descriptions;
+    private int size;
+    private int garbageTexts;
+    private boolean shared;
+    private boolean rowsShared;
+
+    TransactionTable() {
+        allocate(16);
+    }
+
+    private TransactionTable(TransactionTable source) {
+        names.addAll(source.names);
+        nameIds.putAll(source.nameIds);
+        texts = source.texts;
+        idHigh = source.idHigh;
+        idLow = source.idLow;
+        idTexts = source.idTexts;
+        days = source.days;
+        amounts = source.amounts;
+        types = source.types;
+        categories = source.categories;
+        counterparties = source.counterparties;
+        descriptions = source.descriptions;
+        size = source.size;
+        garbageTexts = source.garbageTexts;
+        shared = true;
+        rowsShared = true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String id(int row) {
+        int text = idTexts[row];
+        return text == UUID_ID ? new UUID(idHigh[row], idLow[row]).toString() : text(text);
+    }
+
+    boolean hasUuidId(int row) {
+        return idTexts[row] == UUID_ID;
+    }
+
+    long idHigh(int row) {
+        return idHigh[row];
+    }
+
+    long idLow(int row) {
+        return idLow[row];
+    }
+
+    TransactionType type(int row) {
+        return types[row] < 0 ? null : TYPES[types[row]];
+    }
+
+    String category(int row) {
+        return name(categories[row]);
+    }
+
+    long amount(int row) {
+        return amounts[row];
+    }
+
+    String description(int row) {
+        return text(descriptions[row]);
+    }
+
+    String date(int row) {
+        long day = days[row];
+        if (day >= MIN_DAY) {
+            return LocalDate.ofEpochDay(day).toString();
+        }
+        return day == NULL_DATE ? null : texts.get((int) (day - NULL_DATE - 1));
+    }
+
+    String counterparty(int row) {
+        return name(counterparties[row]);
+    }
+
+    long epochDay(int row) {
+        long day = days[row];
+        if (day >= MIN_DAY) {
+            return day;
+        }
+        return DateIndex.epochDay(date(row));
+    }
+
+    void setCategory(int row, String category) {
+        unshare();
+        categories[row] = nameId(category);
+    }
+
+    Transaction view(int row) {
+        return new Row(row);
+    }
+
+    Transaction copy(int row) {
+        return new Transaction(id(row), type(row), category(row), amount(row),
+                description(row), date(row), counterparty(row));
+    }
+
+    void add(Transaction tx) {
+        insert(size, tx);
+    }
+
+    void insert(int row, Transaction tx) {
+        if (size == days.length) {
+            grow(size * 2);
+        }
+        int tail = size - row;
+        if (rowsShared) {
+            unshare();
+        }
+        if (tail > 0) {
+            unshare();
+            System.arraycopy(idHigh, row, idHigh, row + 1, tail);
+            System.arraycopy(idLow, row, idLow, row + 1, tail);
+            System.arraycopy(idTexts, row, idTexts, row + 1, tail);
+            System.arraycopy(days, row, days, row + 1, tail);
+            System.arraycopy(amounts, row, amounts, row + 1, tail);
+            System.arraycopy(types, row, types, row + 1, tail);
+            System.arraycopy(categories, row, categories, row + 1, tail);
+            System.arraycopy(counterparties, row, counterparties, row + 1, tail);
+            System.arraycopy(descriptions, row, descriptions, row + 1, tail);
+        }
+        size++;
+        write(row, tx, false);
+    }
+
+    void set(int row, Transaction tx) {
+        unshare();
+        write(row, tx, true);
+        compactTexts();
+    }
+
+    void remove(int row) {
+        unshare();
+        release(idTexts[row]);
+        release(descriptions[row]);
+        release(dateText(days[row]));
+        int tail = size - row - 1;
+        if (tail > 0) {
+            System.arraycopy(idHigh, row + 1, idHigh, row, tail);
+            System.arraycopy(idLow, row + 1, idLow, row, tail);
+            System.arraycopy(idTexts, row + 1, idTexts, row, tail);
+            System.arraycopy(days, row + 1, days, row, tail);
+            System.arraycopy(amounts, row + 1, amounts, row, tail);
+            System.arraycopy(types, row + 1, types, row, tail);
+            System.arraycopy(categories, row + 1, categories, row, tail);
+            System.arraycopy(counterparties, row + 1, counterparties, row, tail);
+            System.arraycopy(descriptions, row + 1, descriptions, row, tail);
+        }
+        size--;
+        compactTexts();
+    }
+
+    int textCount() {
+        return texts.size();
+    }
+
+    void clear() {
+        size = 0;
+        garbageTexts = 0;
+        texts = new ArrayList<>();
+        allocate(16);
+    }
+
+    void removeRows(boolean[] drop) {
+        TransactionTable kept = new TransactionTable();
+        kept.names.addAll(names);
+        kept.nameIds.putAll(nameIds);
+        for (int row = 0; row < size; row++) {
+            if (!drop[row]) {
+                kept.add(view(row));
+            }
+        }
+        texts = kept.texts;
+        idHigh = kept.idHigh;
+        idLow = kept.idLow;
+        idTexts = kept.idTexts;
+        days = kept.days;
+        amounts = kept.amounts;
+        types = kept.types;
+        categories = kept.categories;
+        counterparties = kept.counterparties;
+        descriptions = kept.descriptions;
+        size = kept.size;
+        garbageTexts = 0;
+        shared = false;
+        rowsShared = false;
+    }
+
+    long signedSum() {
+        long result = 0;
+        for (int row = 0; row < size; row++) {
+            byte type = types[row];
+            if (type >= 0) {
+                result += TYPES[type].isIncoming() ? amounts[row] : -amounts[row];
+            }
+        }
+        return result;
+    }
+
+    TransactionTable freeze() {
+        shared = true;
+        rowsShared = true;
+        return new TransactionTable(this);
+    }
+
+    TransactionSnapshot snapshot(int[] rows) {
+        return snapshot(rows, Map.of());
+    }
+
+    TransactionSnapshot snapshot(int[] rows, Map<String, CategoryTotals> base) {
+        shared = true;
+        return new TransactionSnapshot(names.toArray(new String[0]), types, categories, amounts, days, rows, base);
+    }
+
+    private void write(int row, Transaction tx, boolean overwrite) {
+        int oldId = overwrite ? idTexts[row] : NULL_TEXT;
+        int oldDate = overwrite ? dateText(days[row]) : NULL_TEXT;
+        int oldDescription = overwrite ? descriptions[row] : NULL_TEXT;
+        UUID uuid = parseUuid(tx.getId());
+        if (uuid != null) {
+            idHigh[row] = uuid.getMostSignificantBits();
+            idLow[row] = uuid.getLeastSignificantBits();
+            idTexts[row] = UUID_ID;
+            release(oldId);
+        } else {
+            idHigh[row] = 0;
+            idLow[row] = 0;
+            idTexts[row] = textId(tx.getId(), oldId);
+        }
+        days[row] = encodeDate(tx.getDate(), oldDate);
+        amounts[row] = tx.getAmount();
+        types[row] = tx.getType() == null ? -1 : (byte) tx.getType().ordinal();
+        categories[row] = nameId(tx.getCategory());
+        counterparties[row] = nameId(tx.getCounterparty());
+        descriptions[row] = textId(tx.getDescription(), oldDescription);
+    }
+
+    private String name(int id) {
+        return id < 0 ? null : names.get(id);
+    }
+
+    private int nameId(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer existing = nameIds.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        nameIds.put(value, names.size());
+        names.add(value);
+        return names.size() - 1;
+    }
+
+    private String text(int id) {
+        if (id == NULL_TEXT) {
+            return null;
+        }
+        return id == EMPTY_TEXT ? "" : texts.get(id);
+    }
+
+    private int textId(String value, int reusable) {
+        if (value == null || value.isEmpty()) {
+            release(reusable);
+            return value == null ? NULL_TEXT : EMPTY_TEXT;
+        }
+        if (reusable >= 0) {
+            texts.set(reusable, value);
+            return reusable;
+        }
+        texts.add(value);
+        return texts.size() - 1;
+    }
+
+    private void release(int text) {
+        if (text >= 0) {
+            garbageTexts++;
+        }
+    }
+
+    private int dateText(long day) {
+        return day > NULL_DATE && day < MIN_DAY ? (int) (day - NULL_DATE - 1) : NULL_TEXT;
+    }
+
+    private void compactTexts() {
+        if (garbageTexts < MIN_GARBAGE_TEXTS || garbageTexts * 2 < texts.size()) {
+            return;
+        }
+        List<String> live = new ArrayList<>(texts.size() - garbageTexts);
+        for (int row = 0; row < size; row++) {
+            if (idTexts[row] >= 0) {
+                live.add(texts.get(idTexts[row]));
+                idTexts[row] = live.size() - 1;
+            }
+            if (descriptions[row] >= 0) {
+                live.add(texts.get(descriptions[row]));
+                descriptions[row] = live.size() - 1;
+            }
+            int date = dateText(days[row]);
+            if (date >= 0) {
+                live.add(texts.get(date));
+                days[row] = NULL_DATE + live.size();
+            }
+        }
+        texts = live;
+        garbageTexts = 0;
+    }
+
+    private long encodeDate(String date, int reusable) {
+        if (date == null) {
+            release(reusable);
+            return NULL_DATE;
+        }
+        if (date.length() == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            int day = digits(date, 8, 10);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31
+                    && day <= LocalDate.of(year, month, 1).lengthOfMonth()) {
+                release(reusable);
+                return LocalDate.of(year, month, day).toEpochDay();
+            }
+        }
+        return NULL_DATE + textId(date, reusable) + 1;
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void unshare() {
+        if (shared) {
+            types = types.clone();
+            categories = categories.clone();
+            amounts = amounts.clone();
+            days = days.clone();
+            shared = false;
+        }
+        if (rowsShared) {
+            texts = new ArrayList<>(texts);
+            idHigh = idHigh.clone();
+            idLow = idLow.clone();
+            idTexts = idTexts.clone();
+            counterparties = counterparties.clone();
+            descriptions = descriptions.clone();
+            rowsShared = false;
+        }
+    }
+
+    private void allocate(int capacity) {
+        shared = false;
+        rowsShared = false;
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        idTexts = new int[capacity];
+        days = new long[capacity];
+        amounts = new long[capacity];
+        types = new byte[capacity];
+        categories = new int[capacity];
+        counterparties = new int[capacity];
+        descriptions = new int[capacity];
+    }
+
+    private void grow(int capacity) {
+        if (rowsShared) {
+            texts = new ArrayList<>(texts);
+            rowsShared = false;
+        }
+        shared = false;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        idTexts = Arrays.copyOf(idTexts, capacity);
+        days = Arrays.copyOf(days, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        types = Arrays.copyOf(types, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        counterparties = Arrays.copyOf(counterparties, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private class Row extends Transaction {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public String getId() {
+            return id(row);
+        }
+
+        @Override
+        public TransactionType getType() {
+            return type(row);
+        }
+
+        @Override
+        public String getCategory() {
+            return category(row);
+        }
+
+        @Override
+        public long getAmount() {
+            return amount(row);
+        }
+
+        @Override
+        public String getDescription() {
+            return description(row);
+        }
+
+        @Override
+        public String getDate() {
+            return date(row);
+        }
+
+        @Override
+        public String getCounterparty() {
+            return counterparty(row);
+        }
+
+        @Override
+        public void setCategory(String category) {
+            throw new UnsupportedOperationException("Stored transactions are read-only; replace them through the wallet");
+        }
+    }
+}
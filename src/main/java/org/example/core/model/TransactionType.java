@@ -4,5 +4,9 @@ public enum TransactionType {
     INCOME,
     EXPENSE,
     TRANSFER_IN,
-    TRANSFER_OUT
+    TRANSFER_OUT;
+
+    public boolean isIncoming() {
+        return this == INCOME || this == TRANSFER_IN;
+    }
 }
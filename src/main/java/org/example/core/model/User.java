@@ -1,9 +1,13 @@
 package org.example.core.model;
 
+import java.util.function.Supplier;
+
 public class User {
     private String login;
     private String passwordHash;
     private Wallet wallet = new Wallet();
+    private transient Supplier<Wallet> walletLoader;
+    private transient boolean dirty;
 
     public User() {
     }
@@ -13,6 +17,19 @@ public class User {
         this.passwordHash = passwordHash;
     }
 
+    public User(String login, String passwordHash, Wallet wallet) {
+        this.login = login;
+        this.passwordHash = passwordHash;
+        this.wallet = wallet;
+    }
+
+    public User(String login, String passwordHash, Supplier<Wallet> walletLoader) {
+        this.login = login;
+        this.passwordHash = passwordHash;
+        this.wallet = null;
+        this.walletLoader = walletLoader;
+    }
+
     public String getLogin() {
         return login;
     }
@@ -21,7 +38,38 @@ public class User {
         return passwordHash;
     }
 
-    public Wallet getWallet() {
+    public synchronized Wallet getWallet() {
+        if (wallet == null && walletLoader != null) {
+            wallet = walletLoader.get();
+            wallet.clearDirty();
+            walletLoader = null;
+        }
         return wallet;
     }
+
+    public synchronized Wallet readDetachedWallet() {
+        if (wallet != null || walletLoader == null) {
+            return null;
+        }
+        return walletLoader.get();
+    }
+
+    public synchronized boolean isWalletLoaded() {
+        return wallet != null;
+    }
+
+    public synchronized boolean isDirty() {
+        return dirty || (wallet != null && wallet.isDirty());
+    }
+
+    public synchronized void markDirty() {
+        dirty = true;
+    }
+
+    public synchronized void clearDirty() {
+        dirty = false;
+        if (wallet != null) {
+            wallet.clearDirty();
+        }
+    }
 }
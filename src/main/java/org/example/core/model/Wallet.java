@@ -1,31 +1,501 @@
 package org.example.core.model;
 
+import java.time.LocalDate;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class Wallet {
-    private double balance;
-    private List<Transaction> transactions = new ArrayList<>();
-    private Map<String, Double> budgets = new HashMap<>();
+    private long balance;
+    private final TransactionTable transactions = new TransactionTable();
+    private Map<String, Long> budgets = new HashMap<>();
+    private transient boolean dirty;
+    private transient volatile long version;
+    private transient List<Transaction> transactionView;
+    private transient Map<String, CategoryTotals> categoryTotals;
+    private transient CategoryTotals totals;
+    private transient CategoryIndex categoryIndex;
+    private transient DateIndex dateIndex;
+    private transient IdIndex idIndex;
+    private transient MonthlyRollup rollup;
 
     public Wallet() {
     }
 
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
 
-    public void setBalance(double balance) {
+    public void setBalance(long balance) {
         this.balance = balance;
+        changed();
     }
 
     public List<Transaction> getTransactions() {
-        return transactions;
+        if (transactionView == null) {
+            transactionView = new TransactionList();
+        }
+        return transactionView;
     }
 
-    public Map<String, Double> getBudgets() {
-        return budgets;
+    public Map<String, Long> getBudgets() {
+        return Collections.unmodifiableMap(budgets);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    public void setBudget(String category, long limit) {
+        budgets.put(category, limit);
+        if (categoryIndex != null) {
+            categoryIndex.addBudget(category);
+        }
+        changed();
+    }
+
+    public Long removeBudget(String category) {
+        Long removed = budgets.remove(category);
+        if (removed != null) {
+            if (categoryIndex != null) {
+                categoryIndex.removeBudget(category, budgets.keySet());
+            }
+            changed();
+        }
+        return removed;
+    }
+
+    public String findCategory(String category) {
+        CategoryIndex.Entry entry = index().get(category);
+        if (entry == null) {
+            return null;
+        }
+        return entry.size() > 0 ? transactions.category(entry.position(0)) : entry.budgetName();
+    }
+
+    public Set<String> listCategories() {
+        Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (CategoryIndex.Entry entry : index().entries()) {
+            result.add(entry.size() > 0 ? transactions.category(entry.position(0)) : entry.budgetName());
+        }
+        return result;
+    }
+
+    public boolean containsTransaction(String id) {
+        if (idIndex == null) {
+            IdIndex index = new IdIndex();
+            for (int i = 0; i < transactions.size(); i++) {
+                index.add(transactions, i);
+            }
+            idIndex = index;
+        }
+        return idIndex.contains(id);
+    }
+
+    public List<Transaction> getTransactionsInCategories(Collection<String> categories) {
+        return views(select(categories, null, null));
+    }
+
+    public List<Transaction> getTransactionsBetween(LocalDate from, LocalDate to) {
+        return views(select(null, from, to));
+    }
+
+    public List<Transaction> snapshotTransactions(LocalDate from, LocalDate to, boolean withUndated) {
+        int[] rows = from == null && to == null ? null : select(null, from, to, withUndated);
+        TransactionTable frozen = transactions.freeze();
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                return frozen.view(rows == null ? Objects.checkIndex(index, frozen.size()) : rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows == null ? frozen.size() : rows.length;
+            }
+        };
+    }
+
+    public Map<String, CategoryTotals> sumByCategory(Collection<String> categories, LocalDate from, LocalDate to) {
+        return snapshot(categories, from, to).sumByCategory();
+    }
+
+    public TransactionSnapshot snapshot(Collection<String> categories, LocalDate from, LocalDate to) {
+        LocalDate lower = LocalDate.MIN.equals(from) ? null : from;
+        LocalDate upper = LocalDate.MAX.equals(to) ? null : to;
+        if (lower != null || upper != null) {
+            int firstMonth = lower == null ? Integer.MIN_VALUE : MonthlyRollup.month(lower.minusDays(1)) + 1;
+            int lastMonth = upper == null ? Integer.MAX_VALUE : MonthlyRollup.month(upper.plusDays(1)) - 1;
+            if (firstMonth <= lastMonth) {
+                return rollupSnapshot(categories, lower, upper, firstMonth, lastMonth);
+            }
+        }
+        return transactions.snapshot(select(categories, from, to));
+    }
+
+    public long getTotalIncome() {
+        ensureTotals();
+        return totals.getIncome();
+    }
+
+    public long getTotalExpense() {
+        ensureTotals();
+        return totals.getExpense();
+    }
+
+    public long getCategoryIncome(String category) {
+        ensureTotals();
+        CategoryTotals value = categoryTotals.get(category);
+        return value == null ? 0 : value.getIncome();
+    }
+
+    public long getCategoryExpense(String category) {
+        ensureTotals();
+        CategoryTotals value = categoryTotals.get(category);
+        return value == null ? 0 : value.getExpense();
+    }
+
+    public void addTransaction(Transaction transaction) {
+        getTransactions().add(transaction);
+        balance += signedAmount(transaction);
+    }
+
+    public boolean renameCategory(String from, String to) {
+        boolean found = false;
+        CategoryIndex.Entry entry = index().get(from);
+        if (entry != null) {
+            for (int i = 0; i < entry.size(); i++) {
+                transactions.setCategory(entry.position(i), to);
+                found = true;
+            }
+            categoryIndex.moveTransactions(from, to);
+        }
+        if (found && categoryTotals != null) {
+            CategoryTotals moved = new CategoryTotals();
+            Iterator<Map.Entry<String, CategoryTotals>> it = categoryTotals.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, CategoryTotals> totalsEntry = it.next();
+                if (from.equalsIgnoreCase(totalsEntry.getKey())) {
+                    moved.merge(totalsEntry.getValue());
+                    it.remove();
+                }
+            }
+            categoryTotals.computeIfAbsent(to, key -> new CategoryTotals()).merge(moved);
+        }
+        if (found && rollup != null) {
+            rollup.rename(from, to);
+        }
+        if (budgets.containsKey(from)) {
+            long limit = removeBudget(from);
+            setBudget(to, limit);
+            found = true;
+        }
+        if (found) {
+            changed();
+        }
+        return found;
+    }
+
+    public boolean removeCategory(String category) {
+        boolean removed = false;
+        CategoryIndex.Entry entry = index().get(category);
+        if (entry != null && entry.size() > 0) {
+            boolean[] drop = new boolean[transactions.size()];
+            for (int i = 0; i < entry.size(); i++) {
+                drop[entry.position(i)] = true;
+            }
+            transactions.removeRows(drop);
+            categoryIndex = null;
+            dateIndex = null;
+            idIndex = null;
+            removed = true;
+        }
+        if (removed && categoryTotals != null) {
+            Iterator<Map.Entry<String, CategoryTotals>> it = categoryTotals.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, CategoryTotals> totalsEntry = it.next();
+                if (category.equalsIgnoreCase(totalsEntry.getKey())) {
+                    totals.subtract(totalsEntry.getValue());
+                    it.remove();
+                }
+            }
+        }
+        if (removed && rollup != null) {
+            rollup.remove(category);
+        }
+        if (removeBudget(category) != null) {
+            removed = true;
+        }
+        if (!removed) {
+            return false;
+        }
+        balance = recalculateBalance();
+        changed();
+        return true;
+    }
+
+    private void changed() {
+        dirty = true;
+        version++;
+    }
+
+    private long recalculateBalance() {
+        return transactions.signedSum();
+    }
+
+    private static long signedAmount(Transaction tx) {
+        if (tx.getType() == null) {
+            return 0;
+        }
+        return tx.getType().isIncoming() ? tx.getAmount() : -tx.getAmount();
+    }
+
+    private CategoryIndex index() {
+        if (categoryIndex == null) {
+            CategoryIndex index = new CategoryIndex();
+            for (int i = 0; i < transactions.size(); i++) {
+                index.addTransaction(transactions.category(i), i);
+            }
+            budgets.keySet().forEach(index::addBudget);
+            categoryIndex = index;
+        }
+        return categoryIndex;
+    }
+
+    private DateIndex dates() {
+        if (dateIndex == null) {
+            DateIndex index = new DateIndex();
+            for (int i = 0; i < transactions.size(); i++) {
+                index.add(transactions.epochDay(i), i);
+            }
+            dateIndex = index;
+        }
+        return dateIndex;
+    }
+
+    private int[] select(Collection<String> categories, LocalDate from, LocalDate to) {
+        return select(categories, from, to, true);
+    }
+
+    private int[] select(Collection<String> categories, LocalDate from, LocalDate to, boolean withUndated) {
+        int[] byCategory = categories == null ? null : categoryPositions(categories);
+        if (from == null && to == null) {
+            if (byCategory != null) {
+                return byCategory;
+            }
+            int[] all = new int[transactions.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int[] byDate = dates().range(from == null ? DateIndex.NO_DATE : from.toEpochDay(),
+                to == null ? DateIndex.NO_DATE : to.toEpochDay(), withUndated);
+        return intersect(byCategory, byDate);
+    }
+
+    private TransactionSnapshot rollupSnapshot(Collection<String> categories, LocalDate from, LocalDate to,
+                                               int firstMonth, int lastMonth) {
+        int[] head = from == null
+                ? new int[0]
+                : dates().range(from.toEpochDay(), MonthlyRollup.firstDay(firstMonth).toEpochDay() - 1, false);
+        int[] tail = to == null
+                ? new int[0]
+                : dates().range(MonthlyRollup.firstDay(lastMonth + 1).toEpochDay(), to.toEpochDay(), false);
+        int[] edges = Arrays.copyOf(head, head.length + tail.length);
+        System.arraycopy(tail, 0, edges, head.length, tail.length);
+        Set<String> folded = null;
+        int[] rows = edges;
+        if (categories != null) {
+            folded = new HashSet<>();
+            for (String category : categories) {
+                folded.add(CategoryIndex.fold(category));
+            }
+            rows = intersect(categoryPositions(categories), edges);
+        }
+        return transactions.snapshot(rows, rollup().sum(firstMonth, lastMonth, folded));
+    }
+
+    private int[] intersect(int[] byCategory, int[] byDate) {
+        if (byCategory == null) {
+            return byDate;
+        }
+        boolean[] matched = new boolean[transactions.size()];
+        for (int position : byCategory) {
+            matched[position] = true;
+        }
+        int count = 0;
+        for (int position : byDate) {
+            if (matched[position]) {
+                byDate[count++] = position;
+            }
+        }
+        return Arrays.copyOf(byDate, count);
+    }
+
+    private int[] categoryPositions(Collection<String> categories) {
+        CategoryIndex index = index();
+        List<CategoryIndex.Entry> matched = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int total = 0;
+        for (String category : categories) {
+            CategoryIndex.Entry entry = index.get(category);
+            if (entry != null && entry.size() > 0 && seen.add(CategoryIndex.fold(category))) {
+                matched.add(entry);
+                total += entry.size();
+            }
+        }
+        int[] positions = new int[total];
+        int offset = 0;
+        for (CategoryIndex.Entry entry : matched) {
+            for (int i = 0; i < entry.size(); i++) {
+                positions[offset++] = entry.position(i);
+            }
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private List<Transaction> views(int[] positions) {
+        List<Transaction> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(transactions.view(position));
+        }
+        return result;
+    }
+
+    private MonthlyRollup rollup() {
+        if (rollup == null) {
+            MonthlyRollup built = new MonthlyRollup();
+            for (int i = 0; i < transactions.size(); i++) {
+                built.add(transactions.epochDay(i), transactions.category(i), transactions.type(i),
+                        transactions.amount(i), 1);
+            }
+            rollup = built;
+        }
+        return rollup;
+    }
+
+    private void ensureTotals() {
+        if (categoryTotals != null) {
+            return;
+        }
+        categoryTotals = new HashMap<>();
+        totals = new CategoryTotals();
+        for (int i = 0; i < transactions.size(); i++) {
+            track(transactions.view(i), 1);
+        }
+    }
+
+    private void track(Transaction tx, int sign) {
+        if (rollup != null) {
+            rollup.add(DateIndex.epochDay(tx.getDate()), tx.getCategory(), tx.getType(), tx.getAmount(), sign);
+        }
+        if (categoryTotals == null) {
+            return;
+        }
+        totals.add(tx, sign);
+        if (tx.getCategory() != null) {
+            categoryTotals.computeIfAbsent(tx.getCategory(), key -> new CategoryTotals()).add(tx, sign);
+        }
+    }
+
+    private class TransactionList extends AbstractList<Transaction> {
+        @Override
+        public Transaction get(int index) {
+            Objects.checkIndex(index, transactions.size());
+            return transactions.view(index);
+        }
+
+        @Override
+        public int size() {
+            return transactions.size();
+        }
+
+        @Override
+        public void add(int index, Transaction element) {
+            Objects.checkIndex(index, transactions.size() + 1);
+            transactions.insert(index, element);
+            track(element, 1);
+            if (index == transactions.size() - 1) {
+                if (categoryIndex != null) {
+                    categoryIndex.addTransaction(element.getCategory(), index);
+                }
+                if (dateIndex != null) {
+                    dateIndex.add(transactions.epochDay(index), index);
+                }
+                if (idIndex != null) {
+                    idIndex.add(transactions, index);
+                }
+            } else {
+                categoryIndex = null;
+                dateIndex = null;
+                idIndex = null;
+            }
+            modCount++;
+            changed();
+        }
+
+        @Override
+        public Transaction set(int index, Transaction element) {
+            Objects.checkIndex(index, transactions.size());
+            Transaction previous = transactions.copy(index);
+            transactions.set(index, element);
+            track(previous, -1);
+            track(element, 1);
+            categoryIndex = null;
+            dateIndex = null;
+            idIndex = null;
+            changed();
+            return previous;
+        }
+
+        @Override
+        public Transaction remove(int index) {
+            Objects.checkIndex(index, transactions.size());
+            Transaction previous = transactions.copy(index);
+            transactions.remove(index);
+            track(previous, -1);
+            categoryIndex = null;
+            dateIndex = null;
+            idIndex = null;
+            modCount++;
+            changed();
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            transactions.clear();
+            categoryTotals = null;
+            rollup = null;
+            categoryIndex = null;
+            dateIndex = null;
+            idIndex = null;
+            modCount++;
+            changed();
+        }
     }
 }
@@ -0,0 +1,30 @@
+package org.example.core.port;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.User;
+
+public interface MutationListener {
+    MutationListener NONE = new MutationListener() {
+    };
+
+    default void userRegistered(User user) {
+    }
+
+    default void transactionAdded(User user, Transaction transaction) {
+    }
+
+    default void transferred(User sender, Transaction outTransaction, User receiver, Transaction inTransaction) {
+    }
+
+    default void budgetSet(User user, String category, long limit) {
+    }
+
+    default void budgetRemoved(User user, String category) {
+    }
+
+    default void categoryRenamed(User user, String from, String to) {
+    }
+
+    default void categoryRemoved(User user, String category) {
+    }
+}
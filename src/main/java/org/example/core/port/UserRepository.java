@@ -2,10 +2,23 @@ package org.example.core.port;
 
 import org.example.core.model.User;
 
+import java.util.Collection;
 import java.util.Map;
 
-public interface UserRepository {
+public interface UserRepository extends AutoCloseable {
     Map<String, User> loadAll();
 
     void saveAll(Map<String, User> users);
+
+    default void saveChanged(Map<String, User> users, Collection<User> changed) {
+        saveAll(users);
+    }
+
+    default boolean readsWalletsOnSave() {
+        return true;
+    }
+
+    @Override
+    default void close() {
+    }
 }
@@ -1,21 +1,39 @@
 package org.example.core.service;
 
 import org.example.core.model.User;
+import org.example.core.port.MutationListener;
 import org.example.core.port.UserRepository;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AuthService {
     private final UserRepository repository;
-    private final Map<String, User> users = new HashMap<>();
+    private final MutationListener listener;
+    private final WalletLocks locks;
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final Object saveLock = new Object();
+    private volatile long flushedUsers;
 
     public AuthService(UserRepository repository) {
+        this(repository, MutationListener.NONE);
+    }
+
+    public AuthService(UserRepository repository, MutationListener listener) {
+        this(repository, listener, new WalletLocks());
+    }
+
+    public AuthService(UserRepository repository, MutationListener listener, WalletLocks locks) {
         this.repository = repository;
+        this.listener = listener;
+        this.locks = locks;
         users.putAll(repository.loadAll());
+        users.values().forEach(User::clearDirty);
     }
 
     public ServiceResult<User> register(String login, String password) {
@@ -34,11 +52,31 @@ public class AuthService {
             return ServiceResult.fail("Не удалось создать пароль.");
         }
         User user = new User(login.trim(), hash);
-        users.put(key, user);
-        repository.saveAll(users);
+        user.markDirty();
+        if (users.putIfAbsent(key, user) != null) {
+            return ServiceResult.fail("Пользователь с таким логином уже существует.");
+        }
+        listener.userRegistered(user);
+        saveAll();
         return ServiceResult.ok(user, "Пользователь зарегистрирован.");
     }
 
+    public User importUser(String login, String passwordHash) {
+        String key = login.trim().toLowerCase();
+        User existing = users.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        User user = new User(login.trim(), passwordHash);
+        user.markDirty();
+        existing = users.putIfAbsent(key, user);
+        if (existing != null) {
+            return existing;
+        }
+        listener.userRegistered(user);
+        return user;
+    }
+
     public ServiceResult<User> login(String login, String password) {
         if (login == null || login.trim().isEmpty()) {
             return ServiceResult.fail("Логин не может быть пустым.");
@@ -63,18 +101,53 @@ public class AuthService {
     }
 
     public void saveAll() {
-        repository.saveAll(users);
+        synchronized (saveLock) {
+            List<User> changed = new ArrayList<>();
+            for (User user : users.values()) {
+                locks.withLock(user, () -> {
+                    if (user.isDirty()) {
+                        user.clearDirty();
+                        changed.add(user);
+                    }
+                    return null;
+                });
+            }
+            try {
+                if (repository.readsWalletsOnSave()) {
+                    locks.withAllLocks(() -> {
+                        repository.saveChanged(users, changed);
+                        return null;
+                    });
+                } else {
+                    repository.saveChanged(users, changed);
+                }
+            } catch (RuntimeException e) {
+                changed.forEach(User::markDirty);
+                throw e;
+            }
+            flushedUsers += changed.size();
+        }
     }
 
-    public void replaceAll(Map<String, User> newUsers) {
-        users.clear();
-        if (newUsers != null) {
-            users.putAll(newUsers);
+    public int countDirtyUsers() {
+        int count = 0;
+        for (User user : users.values()) {
+            if (user.isDirty()) {
+                count++;
+            }
         }
-        repository.saveAll(users);
+        return count;
+    }
+
+    public long getFlushedUserCount() {
+        return flushedUsers;
+    }
+
+    public void close() {
+        repository.close();
     }
 
-    private String hashPassword(String password) {
+    public static String hashPassword(String password) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
@@ -1,25 +1,25 @@
 package org.example.core.service;
 
 public class BudgetStatus {
-    private final double limit;
-    private final double spent;
-    private final double remaining;
+    private final long limit;
+    private final long spent;
+    private final long remaining;
 
-    public BudgetStatus(double limit, double spent) {
+    public BudgetStatus(long limit, long spent) {
         this.limit = limit;
         this.spent = spent;
         this.remaining = limit - spent;
     }
 
-    public double getLimit() {
+    public long getLimit() {
         return limit;
     }
 
-    public double getSpent() {
+    public long getSpent() {
         return spent;
     }
 
-    public double getRemaining() {
+    public long getRemaining() {
         return remaining;
     }
 }
@@ -1,71 +1,213 @@
 package org.example.core.service;
 
+import org.example.core.model.CategoryTotals;
 import org.example.core.model.Transaction;
+import org.example.core.model.TransactionSnapshot;
 import org.example.core.model.TransactionType;
 import org.example.core.model.User;
 import org.example.core.model.Wallet;
+import org.example.core.port.MutationListener;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FinanceService {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final long REPORT_CACHE_BYTES = 8L * 1024 * 1024;
+    private static final int PARALLEL_REPORT_THRESHOLD = 200_000;
 
-    public ServiceResult<Transaction> addIncome(User user, String category, double amount,
+    private final MutationListener listener;
+    private final WalletLocks locks;
+    private final ReportCache reportCache;
+    private final int parallelReportThreshold;
+
+    public FinanceService() {
+        this(MutationListener.NONE);
+    }
+
+    public FinanceService(MutationListener listener) {
+        this(listener, REPORT_CACHE_BYTES);
+    }
+
+    public FinanceService(MutationListener listener, long reportCacheBytes) {
+        this(listener, reportCacheBytes, PARALLEL_REPORT_THRESHOLD);
+    }
+
+    public FinanceService(MutationListener listener, WalletLocks locks) {
+        this(listener, REPORT_CACHE_BYTES, PARALLEL_REPORT_THRESHOLD, locks);
+    }
+
+    public FinanceService(MutationListener listener, long reportCacheBytes, int parallelReportThreshold) {
+        this(listener, reportCacheBytes, parallelReportThreshold, new WalletLocks());
+    }
+
+    public FinanceService(MutationListener listener, long reportCacheBytes, int parallelReportThreshold,
+                          WalletLocks locks) {
+        this.listener = listener;
+        this.locks = locks;
+        this.reportCache = new ReportCache(reportCacheBytes);
+        this.parallelReportThreshold = parallelReportThreshold;
+    }
+
+    public ServiceResult<Transaction> addIncome(User user, String category, long amount,
                                                 String date, String description) {
         if (amount <= 0) {
             return ServiceResult.fail("Сумма должна быть больше нуля.");
         }
-        String normalizedCategory = resolveCategory(user, category);
-        if (normalizedCategory == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
         String resolvedDate = resolveDate(date);
         if (resolvedDate == null) {
             return ServiceResult.fail("Некорректная дата. Формат: ГГГГ-ММ-ДД.");
         }
-        Transaction tx = new Transaction(UUID.randomUUID().toString(), TransactionType.INCOME,
-                normalizedCategory, amount, safeText(description), resolvedDate, null);
-        Wallet wallet = user.getWallet();
-        wallet.getTransactions().add(tx);
-        wallet.setBalance(wallet.getBalance() + amount);
-        return ServiceResult.ok(tx, buildNotifications(user));
+        return locks.withLock(user, () -> {
+            String normalizedCategory = resolveCategory(user, category);
+            if (normalizedCategory == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
+            }
+            Transaction tx = new Transaction(UUID.randomUUID().toString(), TransactionType.INCOME,
+                    normalizedCategory, amount, safeText(description), resolvedDate, null);
+            user.getWallet().addTransaction(tx);
+            listener.transactionAdded(user, tx);
+            return ServiceResult.ok(tx, buildNotifications(user));
+        });
     }
 
-    public ServiceResult<Transaction> addExpense(User user, String category, double amount,
+    public ServiceResult<Transaction> addExpense(User user, String category, long amount,
                                                  String date, String description) {
         if (amount <= 0) {
             return ServiceResult.fail("Сумма должна быть больше нуля.");
         }
-        String normalizedCategory = resolveCategory(user, category);
-        if (normalizedCategory == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
         String resolvedDate = resolveDate(date);
         if (resolvedDate == null) {
             return ServiceResult.fail("Некорректная дата. Формат: ГГГГ-ММ-ДД.");
         }
-        Wallet wallet = user.getWallet();
-        if (wallet.getBalance() - amount < 0) {
-            return ServiceResult.fail("Недостаточно средств. Баланс не может быть ниже 0.");
-        }
-        Transaction tx = new Transaction(UUID.randomUUID().toString(), TransactionType.EXPENSE,
-                normalizedCategory, amount, safeText(description), resolvedDate, null);
-        wallet.getTransactions().add(tx);
-        wallet.setBalance(wallet.getBalance() - amount);
-        return ServiceResult.ok(tx, buildNotifications(user));
+        return locks.withLock(user, () -> {
+            String normalizedCategory = resolveCategory(user, category);
+            if (normalizedCategory == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
+            }
+            Wallet wallet = user.getWallet();
+            if (wallet.getBalance() - amount < 0) {
+                return ServiceResult.fail("Недостаточно средств. Баланс не может быть ниже 0.");
+            }
+            Transaction tx = new Transaction(UUID.randomUUID().toString(), TransactionType.EXPENSE,
+                    normalizedCategory, amount, safeText(description), resolvedDate, null);
+            wallet.addTransaction(tx);
+            listener.transactionAdded(user, tx);
+            return ServiceResult.ok(tx, buildNotifications(user));
+        });
     }
 
-    public ServiceResult<Void> transfer(User sender, User receiver, double amount,
+    public ImportResult importTransactions(User user, Stream<ImportRecord> records) {
+        return importTransactions(user, records.iterator());
+    }
+
+    public ImportResult importTransactions(User user, Iterator<ImportRecord> records) {
+        return locks.withLock(user, () -> {
+            Wallet wallet = user.getWallet();
+            Map<String, String> categories = new HashMap<>();
+            Map<String, String> dates = new HashMap<>();
+            String today = LocalDate.now().format(DATE_FORMAT);
+            List<ImportError> errors = new ArrayList<>();
+            long balance = wallet.getBalance();
+            long imported = 0;
+            long index = 0;
+            while (records.hasNext()) {
+                ImportRecord record = records.next();
+                long position = record != null && record.getLine() >= 0 ? record.getLine() : index;
+                index++;
+                String error = validateImport(record);
+                if (error != null) {
+                    errors.add(new ImportError(position, error));
+                    continue;
+                }
+                String category = categories.computeIfAbsent(record.getCategory(),
+                        raw -> resolveCategory(user, raw));
+                if (category == null) {
+                    errors.add(new ImportError(position, "Категория не может быть пустой."));
+                    continue;
+                }
+                String rawDate = record.getDate() == null ? "" : record.getDate();
+                String date = dates.computeIfAbsent(rawDate, raw -> raw.isBlank() ? today : resolveDate(raw));
+                if (date == null) {
+                    errors.add(new ImportError(position, "Некорректная дата. Формат: ГГГГ-ММ-ДД."));
+                    continue;
+                }
+                boolean income = record.getType() == TransactionType.INCOME;
+                if (!income && balance - record.getAmount() < 0) {
+                    errors.add(new ImportError(position, "Недостаточно средств. Баланс не может быть ниже 0."));
+                    continue;
+                }
+                Transaction tx = new Transaction(UUID.randomUUID().toString(), record.getType(),
+                        category, record.getAmount(), safeText(record.getDescription()), date, null);
+                wallet.addTransaction(tx);
+                listener.transactionAdded(user, tx);
+                balance += income ? record.getAmount() : -record.getAmount();
+                imported++;
+            }
+            return new ImportResult(imported, errors, imported > 0 ? buildNotifications(user) : "");
+        });
+    }
+
+    public MergeResult mergeWallet(User user, Wallet incoming) {
+        return locks.withLock(user, () -> {
+            Wallet wallet = user.getWallet();
+            Map<String, String> categories = new HashMap<>();
+            long added = 0;
+            long duplicates = 0;
+            long skipped = 0;
+            for (Transaction candidate : incoming.getTransactions()) {
+                if (candidate.getType() == null || candidate.getAmount() < 0) {
+                    skipped++;
+                    continue;
+                }
+                String id = candidate.getId();
+                if (id == null || id.isBlank()) {
+                    id = UUID.randomUUID().toString();
+                } else if (wallet.containsTransaction(id)) {
+                    duplicates++;
+                    continue;
+                }
+                String category = candidate.getCategory() == null ? null
+                        : categories.computeIfAbsent(candidate.getCategory(), raw -> {
+                            String resolved = resolveCategory(user, raw);
+                            return resolved != null ? resolved : raw;
+                        });
+                Transaction tx = new Transaction(id, candidate.getType(), category, candidate.getAmount(),
+                        candidate.getDescription(), candidate.getDate(), candidate.getCounterparty());
+                wallet.addTransaction(tx);
+                listener.transactionAdded(user, tx);
+                added++;
+            }
+            int budgets = 0;
+            for (Map.Entry<String, Long> budget : incoming.getBudgets().entrySet()) {
+                String category = resolveCategory(user, budget.getKey());
+                if (category == null || wallet.getBudgets().containsKey(category)) {
+                    continue;
+                }
+                wallet.setBudget(category, budget.getValue());
+                listener.budgetSet(user, category, budget.getValue());
+                budgets++;
+            }
+            return new MergeResult(added, duplicates, skipped, budgets);
+        });
+    }
+
+    public ServiceResult<Void> transfer(User sender, User receiver, long amount,
                                         String date, String description) {
         if (sender == null || receiver == null) {
             return ServiceResult.fail("Отправитель или получатель не найден.");
@@ -77,135 +219,168 @@ public class FinanceService {
         if (resolvedDate == null) {
             return ServiceResult.fail("Некорректная дата. Формат: ГГГГ-ММ-ДД.");
         }
-        Wallet senderWallet = sender.getWallet();
-        if (senderWallet.getBalance() - amount < 0) {
-            return ServiceResult.fail("Недостаточно средств. Перевод отменен.");
-        }
-        Wallet receiverWallet = receiver.getWallet();
-        Transaction outTx = new Transaction(UUID.randomUUID().toString(), TransactionType.TRANSFER_OUT,
-                "Перевод", amount, safeText(description), resolvedDate, receiver.getLogin());
-        Transaction inTx = new Transaction(UUID.randomUUID().toString(), TransactionType.TRANSFER_IN,
-                "Перевод", amount, safeText(description), resolvedDate, sender.getLogin());
-        senderWallet.getTransactions().add(outTx);
-        receiverWallet.getTransactions().add(inTx);
-        senderWallet.setBalance(senderWallet.getBalance() - amount);
-        receiverWallet.setBalance(receiverWallet.getBalance() + amount);
-        return ServiceResult.ok(null, buildNotifications(sender));
-    }
-
-    public ServiceResult<Void> setBudget(User user, String category, double limit) {
+        return locks.withLocks(sender, receiver, () -> {
+            Wallet senderWallet = sender.getWallet();
+            if (senderWallet.getBalance() - amount < 0) {
+                return ServiceResult.fail("Недостаточно средств. Перевод отменен.");
+            }
+            Wallet receiverWallet = receiver.getWallet();
+            Transaction outTx = new Transaction(UUID.randomUUID().toString(), TransactionType.TRANSFER_OUT,
+                    "Перевод", amount, safeText(description), resolvedDate, receiver.getLogin());
+            Transaction inTx = new Transaction(UUID.randomUUID().toString(), TransactionType.TRANSFER_IN,
+                    "Перевод", amount, safeText(description), resolvedDate, sender.getLogin());
+            senderWallet.addTransaction(outTx);
+            receiverWallet.addTransaction(inTx);
+            listener.transferred(sender, outTx, receiver, inTx);
+            return ServiceResult.ok(null, buildNotifications(sender));
+        });
+    }
+
+    public ServiceResult<Void> setBudget(User user, String category, long limit) {
         if (limit < 0) {
             return ServiceResult.fail("Лимит бюджета не может быть отрицательным.");
         }
-        String normalizedCategory = resolveCategory(user, category);
-        if (normalizedCategory == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
-        user.getWallet().getBudgets().put(normalizedCategory, limit);
-        return ServiceResult.ok(null, "Бюджет сохранен.");
+        return locks.withLock(user, () -> {
+            String normalizedCategory = resolveCategory(user, category);
+            if (normalizedCategory == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
+            }
+            user.getWallet().setBudget(normalizedCategory, limit);
+            listener.budgetSet(user, normalizedCategory, limit);
+            return ServiceResult.ok(null, "Бюджет сохранен.");
+        });
     }
 
-    public ServiceResult<Void> updateBudget(User user, String category, double limit) {
+    public ServiceResult<Void> updateBudget(User user, String category, long limit) {
         if (limit < 0) {
             return ServiceResult.fail("Лимит бюджета не может быть отрицательным.");
         }
-        String normalizedCategory = resolveCategory(user, category);
-        if (normalizedCategory == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
-        if (!user.getWallet().getBudgets().containsKey(normalizedCategory)) {
-            return ServiceResult.fail("Бюджет по этой категории не найден.");
-        }
-        user.getWallet().getBudgets().put(normalizedCategory, limit);
-        return ServiceResult.ok(null, "Бюджет обновлен.");
+        return locks.withLock(user, () -> {
+            String normalizedCategory = resolveCategory(user, category);
+            if (normalizedCategory == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
+            }
+            if (!user.getWallet().getBudgets().containsKey(normalizedCategory)) {
+                return ServiceResult.fail("Бюджет по этой категории не найден.");
+            }
+            user.getWallet().setBudget(normalizedCategory, limit);
+            listener.budgetSet(user, normalizedCategory, limit);
+            return ServiceResult.ok(null, "Бюджет обновлен.");
+        });
     }
 
     public ServiceResult<Void> removeBudget(User user, String category) {
-        String normalizedCategory = resolveCategory(user, category);
-        if (normalizedCategory == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
-        Double removed = user.getWallet().getBudgets().remove(normalizedCategory);
-        if (removed == null) {
-            return ServiceResult.fail("Бюджет по этой категории не найден.");
-        }
-        return ServiceResult.ok(null, "Бюджет удален.");
+        return locks.withLock(user, () -> {
+            String normalizedCategory = resolveCategory(user, category);
+            if (normalizedCategory == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
+            }
+            Long removed = user.getWallet().removeBudget(normalizedCategory);
+            if (removed == null) {
+                return ServiceResult.fail("Бюджет по этой категории не найден.");
+            }
+            listener.budgetRemoved(user, normalizedCategory);
+            return ServiceResult.ok(null, "Бюджет удален.");
+        });
     }
 
     public ServiceResult<Void> renameCategory(User user, String oldName, String newName) {
-        String from = resolveCategory(user, oldName);
-        String to = normalizeCategory(newName);
-        if (from == null || to == null) {
-            return ServiceResult.fail("Категории не могут быть пустыми.");
-        }
-        Wallet wallet = user.getWallet();
-        boolean found = false;
-        for (Transaction tx : wallet.getTransactions()) {
-            if (from.equalsIgnoreCase(tx.getCategory())) {
-                tx.setCategory(to);
-                found = true;
+        return locks.withLock(user, () -> {
+            String from = resolveCategory(user, oldName);
+            String to = normalizeCategory(newName);
+            if (from == null || to == null) {
+                return ServiceResult.fail("Категории не могут быть пустыми.");
             }
-        }
-        if (wallet.getBudgets().containsKey(from)) {
-            double limit = wallet.getBudgets().remove(from);
-            wallet.getBudgets().put(to, limit);
-            found = true;
-        }
-        if (!found) {
-            return ServiceResult.fail("Категория не найдена.");
-        }
-        return ServiceResult.ok(null, "Категория обновлена.");
+            if (!user.getWallet().renameCategory(from, to)) {
+                return ServiceResult.fail("Категория не найдена.");
+            }
+            listener.categoryRenamed(user, from, to);
+            return ServiceResult.ok(null, "Категория обновлена.");
+        });
     }
 
     public ServiceResult<Void> removeCategory(User user, String category) {
-        String normalized = resolveCategory(user, category);
-        if (normalized == null) {
-            return ServiceResult.fail("Категория не может быть пустой.");
-        }
-        Wallet wallet = user.getWallet();
-        boolean removed = false;
-        List<Transaction> remaining = new ArrayList<>();
-        for (Transaction tx : wallet.getTransactions()) {
-            if (normalized.equalsIgnoreCase(tx.getCategory())) {
-                removed = true;
-            } else {
-                remaining.add(tx);
+        return locks.withLock(user, () -> {
+            String normalized = resolveCategory(user, category);
+            if (normalized == null) {
+                return ServiceResult.fail("Категория не может быть пустой.");
             }
-        }
-        if (wallet.getBudgets().remove(normalized) != null) {
-            removed = true;
-        }
-        if (!removed) {
-            return ServiceResult.fail("Категория не найдена.");
-        }
-        wallet.getTransactions().clear();
-        wallet.getTransactions().addAll(remaining);
-        wallet.setBalance(recalculateBalance(wallet));
-        return ServiceResult.ok(null, "Категория удалена.");
+            if (!user.getWallet().removeCategory(normalized)) {
+                return ServiceResult.fail("Категория не найдена.");
+            }
+            listener.categoryRemoved(user, normalized);
+            return ServiceResult.ok(null, "Категория удалена.");
+        });
     }
 
     public ReportData buildReport(User user, List<String> categories, String fromDate, String toDate,
                                   List<String> warningsCollector, List<String> missingCategories) {
-        Wallet wallet = user.getWallet();
-        List<Transaction> filtered = filterTransactions(wallet, categories, fromDate, toDate, missingCategories);
-        Map<String, Double> incomeByCategory = sumByCategory(filtered, TransactionType.INCOME, TransactionType.TRANSFER_IN);
-        Map<String, Double> expenseByCategory = sumByCategory(filtered, TransactionType.EXPENSE, TransactionType.TRANSFER_OUT);
-        double totalIncome = incomeByCategory.values().stream().mapToDouble(Double::doubleValue).sum();
-        double totalExpense = expenseByCategory.values().stream().mapToDouble(Double::doubleValue).sum();
-        Map<String, BudgetStatus> budgets = buildBudgetStatus(wallet, filtered);
+        LocalDate from = parseDate(fromDate);
+        LocalDate to = parseDate(toDate);
+        ReportCache.Key key = warningsCollector == null || warningsCollector.isEmpty()
+                ? new ReportCache.Key(user, cacheCategories(categories), Objects.toString(from, null),
+                Objects.toString(to, null))
+                : null;
+        Wallet currentWallet = user.getWallet();
+        if (key != null) {
+            ReportCache.Entry cached = reportCache.get(key, currentWallet);
+            if (cached != null) {
+                if (missingCategories != null) {
+                    missingCategories.addAll(cached.missing());
+                }
+                return cached.report();
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        ReportSource source = locks.withLock(user, () -> {
+            Wallet wallet = user.getWallet();
+            Set<String> normalizedCategories = normalizeCategories(wallet, categories, missing);
+            boolean unfiltered = normalizedCategories == null && from == null && to == null;
+            return new ReportSource(wallet, wallet.getVersion(), wallet.snapshot(normalizedCategories, from, to),
+                    new HashMap<>(wallet.getBudgets()),
+                    unfiltered ? buildBudgetStatus(wallet.getBudgets(), wallet::getCategoryExpense) : null);
+        });
+        if (missingCategories != null) {
+            missingCategories.addAll(missing);
+        }
+        Map<String, CategoryTotals> sums = source.transactions().sumByCategory(parallelReportThreshold);
+        Map<String, Long> incomeByCategory = sumByCategory(sums, true);
+        Map<String, Long> expenseByCategory = sumByCategory(sums, false);
+        long totalIncome = 0;
+        long totalExpense = 0;
+        for (CategoryTotals totals : sums.values()) {
+            totalIncome += totals.getIncome();
+            totalExpense += totals.getExpense();
+        }
+        Map<String, BudgetStatus> budgets = source.budgetStatus() != null
+                ? source.budgetStatus()
+                : buildBudgetStatus(source.budgets(), category -> expenseByCategory.getOrDefault(category, 0L));
         List<String> warnings = warningsCollector == null ? new ArrayList<>() : new ArrayList<>(warningsCollector);
         if (totalExpense > totalIncome) {
             warnings.add("Расходы превышают доходы.");
         }
-        return new ReportData(totalIncome, totalExpense, incomeByCategory, expenseByCategory, budgets, warnings);
+        ReportData report = new ReportData(totalIncome, totalExpense, incomeByCategory, expenseByCategory,
+                budgets, warnings);
+        if (key != null) {
+            reportCache.put(key, source.wallet(), source.version(), report, missing);
+        }
+        return report;
+    }
+
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    public <T> T withWallet(User user, Function<Wallet, T> action) {
+        return locks.withLock(user, () -> action.apply(user.getWallet()));
+    }
+
+    public String getNotifications(User user) {
+        return locks.withLock(user, () -> buildNotifications(user));
     }
 
     public Set<String> listCategories(User user) {
-        Set<String> categories = user.getWallet().getTransactions().stream()
-                .map(Transaction::getCategory)
-                .collect(Collectors.toCollection(() -> new java.util.TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
-        categories.addAll(user.getWallet().getBudgets().keySet());
-        return categories;
+        return locks.withLock(user, () -> user.getWallet().listCategories());
     }
 
     private String buildNotifications(User user) {
@@ -214,7 +389,7 @@ public class FinanceService {
         if (wallet.getBalance() == 0) {
             notices.add("Баланс равен 0.");
         }
-        Map<String, BudgetStatus> statuses = buildBudgetStatus(wallet, wallet.getTransactions());
+        Map<String, BudgetStatus> statuses = buildBudgetStatus(wallet.getBudgets(), wallet::getCategoryExpense);
         for (Map.Entry<String, BudgetStatus> entry : statuses.entrySet()) {
             BudgetStatus status = entry.getValue();
             if (status.getLimit() <= 0) {
@@ -222,100 +397,82 @@ public class FinanceService {
             }
             if (status.getRemaining() < 0) {
                 notices.add("Превышен лимит бюджета по категории: " + entry.getKey());
-            } else if (status.getRemaining() <= status.getLimit() * 0.2) {
+            } else if (status.getRemaining() * 5 <= status.getLimit()) {
                 notices.add("Потрачено 80% бюджета по категории: " + entry.getKey());
             }
         }
-        double totalIncome = wallet.getTransactions().stream()
-                .filter(t -> t.getType() == TransactionType.INCOME || t.getType() == TransactionType.TRANSFER_IN)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        double totalExpense = wallet.getTransactions().stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE || t.getType() == TransactionType.TRANSFER_OUT)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        if (totalExpense > totalIncome) {
+        if (wallet.getTotalExpense() > wallet.getTotalIncome()) {
             notices.add("Расходы превышают доходы.");
         }
         return String.join(" ", notices);
     }
 
-    private double recalculateBalance(Wallet wallet) {
-        double income = wallet.getTransactions().stream()
-                .filter(t -> t.getType() == TransactionType.INCOME || t.getType() == TransactionType.TRANSFER_IN)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        double expense = wallet.getTransactions().stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE || t.getType() == TransactionType.TRANSFER_OUT)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        return income - expense;
-    }
-
-    private Map<String, BudgetStatus> buildBudgetStatus(Wallet wallet, List<Transaction> transactions) {
+    private Map<String, BudgetStatus> buildBudgetStatus(Map<String, Long> limits,
+                                                        ToLongFunction<String> spentByCategory) {
         Map<String, BudgetStatus> result = new LinkedHashMap<>();
-        Map<String, Double> expensesByCategory = sumByCategory(transactions, TransactionType.EXPENSE, TransactionType.TRANSFER_OUT);
-        wallet.getBudgets().entrySet().stream()
+        limits.entrySet().stream()
                 .sorted(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER))
                 .forEach(entry -> {
-                    double spent = expensesByCategory.getOrDefault(entry.getKey(), 0.0);
+                    long spent = spentByCategory.applyAsLong(entry.getKey());
                     result.put(entry.getKey(), new BudgetStatus(entry.getValue(), spent));
                 });
         return result;
     }
 
-    private List<Transaction> filterTransactions(Wallet wallet, List<String> categories,
-                                                 String fromDate, String toDate, List<String> missingCategories) {
-        LocalDate from = parseDate(fromDate);
-        LocalDate to = parseDate(toDate);
-        Set<String> normalizedCategories = null;
-        if (categories != null && !categories.isEmpty()) {
-            normalizedCategories = categories.stream()
-                    .map(this::normalizeCategory)
-                    .filter(c -> c != null)
-                    .collect(Collectors.toCollection(() -> new java.util.TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
+    private Set<String> normalizeCategories(Wallet wallet, List<String> categories, List<String> missingCategories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
         }
-        Set<String> finalCategories = normalizedCategories;
-        List<Transaction> filtered = wallet.getTransactions().stream()
-                .filter(tx -> {
-                    if (finalCategories != null && !finalCategories.contains(tx.getCategory())) {
-                        return false;
-                    }
-                    LocalDate txDate = parseDate(tx.getDate());
-                    if (from != null && txDate != null && txDate.isBefore(from)) {
-                        return false;
-                    }
-                    if (to != null && txDate != null && txDate.isAfter(to)) {
-                        return false;
-                    }
-                    return true;
-                })
-                .sorted(Comparator.comparing(Transaction::getDate))
-                .collect(Collectors.toList());
-        if (finalCategories != null && missingCategories != null) {
-            Set<String> existing = wallet.getTransactions().stream()
-                    .map(Transaction::getCategory)
-                    .collect(Collectors.toCollection(() -> new java.util.TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
-            existing.addAll(wallet.getBudgets().keySet());
-            for (String category : finalCategories) {
-                if (!existing.contains(category)) {
+        Set<String> normalized = categories.stream()
+                .map(this::normalizeCategory)
+                .filter(c -> c != null)
+                .collect(Collectors.toCollection(() -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
+        if (missingCategories != null) {
+            for (String category : normalized) {
+                if (wallet.findCategory(category) == null) {
                     missingCategories.add(category);
                 }
             }
         }
-        return filtered;
+        return normalized;
     }
 
-    private Map<String, Double> sumByCategory(List<Transaction> transactions, TransactionType... types) {
-        Map<String, Double> result = new LinkedHashMap<>();
-        Set<TransactionType> typeSet = Set.of(types);
-        transactions.stream()
-                .filter(tx -> typeSet.contains(tx.getType()))
-                .sorted(Comparator.comparing(Transaction::getCategory, String.CASE_INSENSITIVE_ORDER))
-                .forEach(tx -> result.merge(tx.getCategory(), tx.getAmount(), Double::sum));
+    private Map<String, Long> sumByCategory(Map<String, CategoryTotals> sums, boolean income) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        sums.entrySet().stream()
+                .filter(entry -> income ? entry.getValue().getIncomeCount() > 0 : entry.getValue().getExpenseCount() > 0)
+                .sorted(Map.Entry.<String, CategoryTotals>comparingByKey(String.CASE_INSENSITIVE_ORDER)
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> result.put(entry.getKey(),
+                        income ? entry.getValue().getIncome() : entry.getValue().getExpense()));
         return result;
     }
 
+    private List<String> cacheCategories(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        return categories.stream()
+                .map(this::normalizeCategory)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private String validateImport(ImportRecord record) {
+        if (record == null) {
+            return "Пустая запись.";
+        }
+        if (record.getType() != TransactionType.INCOME && record.getType() != TransactionType.EXPENSE) {
+            return "Поддерживаются только доходы и расходы.";
+        }
+        if (record.getAmount() <= 0) {
+            return "Сумма должна быть больше нуля.";
+        }
+        return null;
+    }
+
     private String normalizeCategory(String category) {
         if (category == null) {
             return null;
@@ -329,25 +486,10 @@ public class FinanceService {
         if (normalized == null) {
             return null;
         }
-        Wallet wallet = user.getWallet();
-        String existing = findCategory(wallet, normalized);
+        String existing = user.getWallet().findCategory(normalized);
         return existing != null ? existing : normalized;
     }
 
-    private String findCategory(Wallet wallet, String category) {
-        for (Transaction tx : wallet.getTransactions()) {
-            if (tx.getCategory().equalsIgnoreCase(category)) {
-                return tx.getCategory();
-            }
-        }
-        for (String existing : wallet.getBudgets().keySet()) {
-            if (existing.equalsIgnoreCase(category)) {
-                return existing;
-            }
-        }
-        return null;
-    }
-
     private String resolveDate(String date) {
         if (date == null || date.trim().isEmpty()) {
             return LocalDate.now().format(DATE_FORMAT);
@@ -375,4 +517,8 @@ public class FinanceService {
         }
         return value.trim();
     }
+
+    private record ReportSource(Wallet wallet, long version, TransactionSnapshot transactions,
+                                Map<String, Long> budgets, Map<String, BudgetStatus> budgetStatus) {
+    }
 }
@@ -0,0 +1,19 @@
+package org.example.core.service;
+
+public class ImportError {
+    private final long index;
+    private final String message;
+
+    public ImportError(long index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.core.service;
+
+import org.example.core.model.TransactionType;
+
+public class ImportRecord {
+    private final TransactionType type;
+    private final String category;
+    private final long amount;
+    private final String date;
+    private final String description;
+    private final long line;
+
+    public ImportRecord(TransactionType type, String category, long amount, String date, String description) {
+        this(type, category, amount, date, description, -1);
+    }
+
+    public ImportRecord(TransactionType type, String category, long amount, String date, String description,
+                        long line) {
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+        this.description = description;
+        this.line = line;
+    }
+
+    public static ImportRecord income(String category, long amount, String date, String description) {
+        return new ImportRecord(TransactionType.INCOME, category, amount, date, description);
+    }
+
+    public static ImportRecord expense(String category, long amount, String date, String description) {
+        return new ImportRecord(TransactionType.EXPENSE, category, amount, date, description);
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.core.service;
+
+import java.util.List;
+
+public class ImportResult {
+    private final long imported;
+    private final List<ImportError> errors;
+    private final long errorCount;
+    private final String notifications;
+
+    public ImportResult(long imported, List<ImportError> errors, String notifications) {
+        this(imported, errors, errors.size(), notifications);
+    }
+
+    public ImportResult(long imported, List<ImportError> errors, long errorCount, String notifications) {
+        this.imported = imported;
+        this.errors = errors;
+        this.errorCount = errorCount;
+        this.notifications = notifications;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public String getNotifications() {
+        return notifications;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
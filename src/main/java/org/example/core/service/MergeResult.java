@@ -0,0 +1,32 @@
+package org.example.core.service;
+
+public class MergeResult {
+    private final long addedTransactions;
+    private final long duplicateTransactions;
+    private final long skippedTransactions;
+    private final int addedBudgets;
+
+    public MergeResult(long addedTransactions, long duplicateTransactions, long skippedTransactions,
+                       int addedBudgets) {
+        this.addedTransactions = addedTransactions;
+        this.duplicateTransactions = duplicateTransactions;
+        this.skippedTransactions = skippedTransactions;
+        this.addedBudgets = addedBudgets;
+    }
+
+    public long getAddedTransactions() {
+        return addedTransactions;
+    }
+
+    public long getDuplicateTransactions() {
+        return duplicateTransactions;
+    }
+
+    public long getSkippedTransactions() {
+        return skippedTransactions;
+    }
+
+    public int getAddedBudgets() {
+        return addedBudgets;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.core.service;
+
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReportCache {
+    private static final long ENTRY_WEIGHT = 256;
+    private static final long ROW_WEIGHT = 128;
+
+    private final long maxWeight;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long weight;
+
+    public ReportCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized Entry get(Key key, Wallet wallet) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.wallet == wallet && entry.version == wallet.getVersion()) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        if (entry != null) {
+            entries.remove(key);
+            weight -= entry.weight;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    synchronized void put(Key key, Wallet wallet, long version, ReportData report, List<String> missing) {
+        long entryWeight = ENTRY_WEIGHT + ROW_WEIGHT * (report.getIncomeByCategory().size()
+                + report.getExpenseByCategory().size() + report.getBudgets().size()
+                + report.getWarnings().size() + missing.size());
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(wallet, version, report, List.copyOf(missing), entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    record Key(User user, List<String> categories, String from, String to) {
+    }
+
+    record Entry(Wallet wallet, long version, ReportData report, List<String> missing, long weight) {
+    }
+}
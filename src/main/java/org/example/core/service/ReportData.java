@@ -1,44 +1,46 @@
 package org.example.core.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ReportData {
-    private final double totalIncome;
-    private final double totalExpense;
-    private final Map<String, Double> incomeByCategory;
-    private final Map<String, Double> expenseByCategory;
+    private final long totalIncome;
+    private final long totalExpense;
+    private final Map<String, Long> incomeByCategory;
+    private final Map<String, Long> expenseByCategory;
     private final Map<String, BudgetStatus> budgets;
     private final List<String> warnings;
 
-    public ReportData(double totalIncome,
-                      double totalExpense,
-                      Map<String, Double> incomeByCategory,
-                      Map<String, Double> expenseByCategory,
+    public ReportData(long totalIncome,
+                      long totalExpense,
+                      Map<String, Long> incomeByCategory,
+                      Map<String, Long> expenseByCategory,
                       Map<String, BudgetStatus> budgets,
                       List<String> warnings) {
         this.totalIncome = totalIncome;
         this.totalExpense = totalExpense;
-        this.incomeByCategory = new LinkedHashMap<>(incomeByCategory);
-        this.expenseByCategory = new LinkedHashMap<>(expenseByCategory);
-        this.budgets = new LinkedHashMap<>(budgets);
-        this.warnings = warnings;
+        this.incomeByCategory = Collections.unmodifiableMap(new LinkedHashMap<>(incomeByCategory));
+        this.expenseByCategory = Collections.unmodifiableMap(new LinkedHashMap<>(expenseByCategory));
+        this.budgets = Collections.unmodifiableMap(new LinkedHashMap<>(budgets));
+        this.warnings = warnings == null ? null : Collections.unmodifiableList(new ArrayList<>(warnings));
     }
 
-    public double getTotalIncome() {
+    public long getTotalIncome() {
         return totalIncome;
     }
 
-    public double getTotalExpense() {
+    public long getTotalExpense() {
         return totalExpense;
     }
 
-    public Map<String, Double> getIncomeByCategory() {
+    public Map<String, Long> getIncomeByCategory() {
         return incomeByCategory;
     }
 
-    public Map<String, Double> getExpenseByCategory() {
+    public Map<String, Long> getExpenseByCategory() {
         return expenseByCategory;
     }
 
@@ -0,0 +1,53 @@
+package org.example.core.service;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StoreReport {
+    private final long users;
+    private final long detachedWallets;
+    private final long totalBalance;
+    private final Map<String, Long> incomeByCategory;
+    private final Map<String, Long> expenseByCategory;
+    private final Map<YearMonth, Long> transfersByMonth;
+
+    public StoreReport(long users,
+                       long detachedWallets,
+                       long totalBalance,
+                       Map<String, Long> incomeByCategory,
+                       Map<String, Long> expenseByCategory,
+                       Map<YearMonth, Long> transfersByMonth) {
+        this.users = users;
+        this.detachedWallets = detachedWallets;
+        this.totalBalance = totalBalance;
+        this.incomeByCategory = Collections.unmodifiableMap(new LinkedHashMap<>(incomeByCategory));
+        this.expenseByCategory = Collections.unmodifiableMap(new LinkedHashMap<>(expenseByCategory));
+        this.transfersByMonth = Collections.unmodifiableMap(new LinkedHashMap<>(transfersByMonth));
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getDetachedWallets() {
+        return detachedWallets;
+    }
+
+    public long getTotalBalance() {
+        return totalBalance;
+    }
+
+    public Map<String, Long> getIncomeByCategory() {
+        return incomeByCategory;
+    }
+
+    public Map<String, Long> getExpenseByCategory() {
+        return expenseByCategory;
+    }
+
+    public Map<YearMonth, Long> getTransfersByMonth() {
+        return transfersByMonth;
+    }
+}
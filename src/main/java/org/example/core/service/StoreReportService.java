@@ -0,0 +1,115 @@
+package org.example.core.service;
+
+import org.example.core.model.CategoryTotals;
+import org.example.core.model.TransactionSnapshot;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class StoreReportService {
+    private static final Comparator<String> CATEGORY_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private final FinanceService financeService;
+    private final int workers;
+
+    public StoreReportService(FinanceService financeService) {
+        this(financeService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StoreReportService(FinanceService financeService, int workers) {
+        this.financeService = financeService;
+        this.workers = Math.max(1, workers);
+    }
+
+    public StoreReport build(Collection<User> users) {
+        Totals totals = new Totals();
+        ArrayDeque<Future<WalletTotals>> window = new ArrayDeque<>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (User user : users) {
+                if (window.size() == workers * 2) {
+                    totals.add(await(window.poll()));
+                }
+                window.add(pool.submit(() -> summarize(user)));
+            }
+            while (!window.isEmpty()) {
+                totals.add(await(window.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new StoreReport(totals.users, totals.detached, totals.balance, totals.income, totals.expense,
+                totals.transfers);
+    }
+
+    private WalletTotals summarize(User user) {
+        Wallet detached = user.readDetachedWallet();
+        WalletSource source = detached != null
+                ? source(detached, true)
+                : financeService.withWallet(user, wallet -> source(wallet, false));
+        TransactionSnapshot transactions = source.transactions();
+        return new WalletTotals(source.balance(), transactions.sumByCategory(),
+                transactions.sumByMonth(TransactionType.TRANSFER_OUT), source.detached());
+    }
+
+    private static WalletSource source(Wallet wallet, boolean detached) {
+        return new WalletSource(wallet.getBalance(), wallet.snapshot(null, null, null), detached);
+    }
+
+    private static WalletTotals await(Future<WalletTotals> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Totals {
+        private final Map<String, Long> income = new TreeMap<>(CATEGORY_ORDER);
+        private final Map<String, Long> expense = new TreeMap<>(CATEGORY_ORDER);
+        private final Map<YearMonth, Long> transfers = new TreeMap<>();
+        private long users;
+        private long detached;
+        private long balance;
+
+        private void add(WalletTotals wallet) {
+            users++;
+            if (wallet.detached()) {
+                detached++;
+            }
+            balance += wallet.balance();
+            for (Map.Entry<String, CategoryTotals> entry : wallet.categories().entrySet()) {
+                CategoryTotals value = entry.getValue();
+                if (value.getIncomeCount() > 0) {
+                    income.merge(entry.getKey(), value.getIncome(), Long::sum);
+                }
+                if (value.getExpenseCount() > 0) {
+                    expense.merge(entry.getKey(), value.getExpense(), Long::sum);
+                }
+            }
+            wallet.transfers().forEach((month, amount) -> transfers.merge(month, amount, Long::sum));
+        }
+    }
+
+    private record WalletSource(long balance, TransactionSnapshot transactions, boolean detached) {
+    }
+
+    private record WalletTotals(long balance, Map<String, CategoryTotals> categories,
+                                Map<YearMonth, Long> transfers, boolean detached) {
+    }
+}
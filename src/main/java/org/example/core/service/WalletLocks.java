@@ -0,0 +1,71 @@
+package org.example.core.service;
+
+import org.example.core.model.User;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+public final class WalletLocks {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+
+    public WalletLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public WalletLocks(int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    <T> T withLock(User user, Supplier<T> action) {
+        ReentrantLock lock = stripes[index(user)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    <T> T withLocks(User first, User second, Supplier<T> action) {
+        int a = index(first);
+        int b = index(second);
+        ReentrantLock outer = stripes[Math.min(a, b)];
+        ReentrantLock inner = stripes[Math.max(a, b)];
+        outer.lock();
+        try {
+            inner.lock();
+            try {
+                return action.get();
+            } finally {
+                inner.unlock();
+            }
+        } finally {
+            outer.unlock();
+        }
+    }
+
+    <T> T withAllLocks(Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private int index(User user) {
+        String login = user.getLogin();
+        return login == null ? 0 : Math.floorMod(login.trim().toLowerCase().hashCode(), stripes.length);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.infra;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+class BinaryChannelReader {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long consumed;
+
+    BinaryChannelReader(FileChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.flip();
+        this.consumed = channel.position();
+    }
+
+    BinaryChannelReader(ByteBuffer mapped) {
+        this.channel = null;
+        this.buffer = mapped;
+        this.consumed = 0;
+    }
+
+    long position() {
+        return consumed + buffer.position();
+    }
+
+    byte getByte() throws IOException {
+        ensure(1);
+        return buffer.get();
+    }
+
+    int getInt() throws IOException {
+        ensure(4);
+        return buffer.getInt();
+    }
+
+    long getLong() throws IOException {
+        ensure(8);
+        return buffer.getLong();
+    }
+
+    String getString() throws IOException {
+        int length = getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            int chunk = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void skip(long bytes) throws IOException {
+        long remaining = bytes;
+        int inBuffer = (int) Math.min(buffer.remaining(), remaining);
+        buffer.position(buffer.position() + inBuffer);
+        remaining -= inBuffer;
+        if (remaining > 0) {
+            if (channel == null) {
+                throw new EOFException("Unexpected end of binary store");
+            }
+            consumed += buffer.limit() + remaining;
+            buffer.clear().flip();
+            channel.position(consumed);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            fill();
+        }
+    }
+
+    private void fill() throws IOException {
+        if (channel == null) {
+            throw new EOFException("Unexpected end of binary store");
+        }
+        consumed += buffer.position();
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+            throw new EOFException("Unexpected end of binary store");
+        }
+    }
+}
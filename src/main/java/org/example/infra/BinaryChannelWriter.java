@@ -0,0 +1,80 @@
+package org.example.infra;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+class BinaryChannelWriter {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long flushed;
+
+    BinaryChannelWriter(FileChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.flushed = channel.position();
+    }
+
+    long position() {
+        return flushed + buffer.position();
+    }
+
+    void putByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    void patchInt(long position, int value) throws IOException {
+        if (position >= flushed) {
+            buffer.putInt((int) (position - flushed), value);
+            return;
+        }
+        ByteBuffer patch = ByteBuffer.allocate(4).putInt(value).flip();
+        while (patch.hasRemaining()) {
+            channel.write(patch, position + patch.position());
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
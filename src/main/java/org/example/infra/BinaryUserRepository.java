@@ -0,0 +1,257 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+import org.example.core.port.UserRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class BinaryUserRepository implements UserRepository {
+    static final int MAGIC = 0x464D4231;
+    static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte ID_UUID = 0;
+    private static final byte ID_TEXT = 1;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final Path path;
+
+    public BinaryUserRepository(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Map<String, User> loadAll() {
+        try {
+            return readUsers();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load data file: " + path, e);
+        }
+    }
+
+    @Override
+    public void saveAll(Map<String, User> users) {
+        try {
+            writeUsers(users);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save data file: " + path, e);
+        }
+    }
+
+    Map<String, User> readUsers() throws IOException {
+        Map<String, User> result = new HashMap<>();
+        if (!Files.exists(path)) {
+            return result;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BinaryChannelReader in = new BinaryChannelReader(channel, BUFFER_SIZE);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Unsupported binary store: " + path);
+            }
+            if (in.getInt() != VERSION) {
+                throw new IOException("Unsupported binary store: " + path);
+            }
+            String[] strings = StringTable.read(in);
+            int userCount = in.getInt();
+            for (int i = 0; i < userCount; i++) {
+                in.getInt();
+                User user = readUser(in, strings);
+                result.put(user.getLogin().toLowerCase(), user);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted binary store: " + path, e);
+        }
+        return result;
+    }
+
+    void writeUsers(Map<String, User> users) throws IOException {
+        StringTable strings = new StringTable();
+        for (User user : users.values()) {
+            strings.collect(user.getWallet());
+        }
+        AtomicFiles.replace(path, temp -> {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                BinaryChannelWriter out = new BinaryChannelWriter(channel, BUFFER_SIZE);
+                out.putInt(MAGIC);
+                out.putInt(VERSION);
+                strings.write(out);
+                out.putInt(users.size());
+                for (User user : users.values()) {
+                    long start = out.position();
+                    out.putInt(0);
+                    writeUser(out, user, strings);
+                    out.patchInt(start, (int) Math.min(Integer.MAX_VALUE, out.position() - start - 4));
+                }
+                out.flush();
+            }
+        });
+    }
+
+    private User readUser(BinaryChannelReader in, String[] strings) throws IOException {
+        String login = in.getString();
+        String passwordHash = in.getString();
+        return new User(login, passwordHash, readWallet(in, strings));
+    }
+
+    private void writeUser(BinaryChannelWriter out, User user, StringTable strings) throws IOException {
+        out.putString(user.getLogin());
+        out.putString(user.getPasswordHash());
+        writeWallet(out, user.getWallet(), strings);
+    }
+
+    static Wallet readWallet(BinaryChannelReader in, String[] strings) throws IOException {
+        Wallet wallet = new Wallet();
+        wallet.setBalance(in.getLong());
+        int budgetCount = in.getInt();
+        for (int i = 0; i < budgetCount; i++) {
+            String category = strings[in.getInt()];
+            wallet.setBudget(category, in.getLong());
+        }
+        int txCount = in.getInt();
+        List<Transaction> transactions = wallet.getTransactions();
+        for (int i = 0; i < txCount; i++) {
+            transactions.add(readTransaction(in, strings));
+        }
+        return wallet;
+    }
+
+    static void writeWallet(BinaryChannelWriter out, Wallet wallet, StringTable strings) throws IOException {
+        out.putLong(wallet.getBalance());
+        out.putInt(wallet.getBudgets().size());
+        for (Map.Entry<String, Long> budget : wallet.getBudgets().entrySet()) {
+            out.putInt(strings.id(budget.getKey()));
+            out.putLong(budget.getValue());
+        }
+        out.putInt(wallet.getTransactions().size());
+        for (Transaction tx : wallet.getTransactions()) {
+            writeTransaction(out, tx, strings);
+        }
+    }
+
+    static Transaction readTransaction(BinaryChannelReader in, String[] strings) throws IOException {
+        String id;
+        if (in.getByte() == ID_UUID) {
+            id = new UUID(in.getLong(), in.getLong()).toString();
+        } else {
+            id = in.getString();
+        }
+        int typeOrdinal = in.getByte();
+        TransactionType type = typeOrdinal < 0 ? null : TransactionType.values()[typeOrdinal];
+        String category = lookup(strings, in.getInt());
+        long amount = in.getLong();
+        int epochDay = in.getInt();
+        String date = epochDay == NO_DATE ? in.getString() : LocalDate.ofEpochDay(epochDay).format(DATE_FORMAT);
+        String description = in.getString();
+        String counterparty = lookup(strings, in.getInt());
+        return new Transaction(id, type, category, amount, description, date, counterparty);
+    }
+
+    static void writeTransaction(BinaryChannelWriter out, Transaction tx, StringTable strings) throws IOException {
+        UUID uuid = parseUuid(tx.getId());
+        if (uuid != null) {
+            out.putByte(ID_UUID);
+            out.putLong(uuid.getMostSignificantBits());
+            out.putLong(uuid.getLeastSignificantBits());
+        } else {
+            out.putByte(ID_TEXT);
+            out.putString(tx.getId());
+        }
+        out.putByte(tx.getType() == null ? -1 : tx.getType().ordinal());
+        out.putInt(strings.id(tx.getCategory()));
+        out.putLong(tx.getAmount());
+        int epochDay = epochDay(tx.getDate());
+        out.putInt(epochDay);
+        if (epochDay == NO_DATE) {
+            out.putString(tx.getDate());
+        }
+        out.putString(tx.getDescription());
+        out.putInt(strings.id(tx.getCounterparty()));
+    }
+
+    private static String lookup(String[] strings, int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int epochDay(String date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        try {
+            LocalDate parsed = LocalDate.parse(date, DATE_FORMAT);
+            return parsed.format(DATE_FORMAT).equals(date) ? (int) parsed.toEpochDay() : NO_DATE;
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer existing = ids.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            ids.put(value, values.size());
+            values.add(value);
+            return values.size() - 1;
+        }
+
+        void collect(Wallet wallet) {
+            wallet.getBudgets().keySet().forEach(this::id);
+            for (Transaction tx : wallet.getTransactions()) {
+                id(tx.getCategory());
+                id(tx.getCounterparty());
+            }
+        }
+
+        void write(BinaryChannelWriter out) throws IOException {
+            out.putInt(values.size());
+            for (String value : values) {
+                out.putString(value);
+            }
+        }
+
+        static String[] read(BinaryChannelReader in) throws IOException {
+            String[] strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.getString();
+            }
+            return strings;
+        }
+    }
+}
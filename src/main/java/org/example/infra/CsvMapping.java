@@ -0,0 +1,84 @@
+package org.example.infra;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+public class CsvMapping {
+    private final char delimiter;
+    private final boolean header;
+    private final String dateColumn;
+    private final String amountColumn;
+    private final String categoryColumn;
+    private final String descriptionColumn;
+    private final DateTimeFormatter dateFormat;
+    private final String defaultCategory;
+
+    public CsvMapping(char delimiter, boolean header, String dateColumn, String amountColumn,
+                      String categoryColumn, String descriptionColumn, String datePattern, String defaultCategory) {
+        this.delimiter = delimiter;
+        this.header = header;
+        this.dateColumn = dateColumn;
+        this.amountColumn = amountColumn;
+        this.categoryColumn = categoryColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.dateFormat = datePattern == null ? null : DateTimeFormatter.ofPattern(datePattern, Locale.ROOT);
+        this.defaultCategory = defaultCategory;
+    }
+
+    public static CsvMapping defaults() {
+        return new CsvMapping(',', true, "date", "amount", "category", "description", null, "Прочее");
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public DateTimeFormatter getDateFormat() {
+        return dateFormat;
+    }
+
+    public String getDefaultCategory() {
+        return defaultCategory;
+    }
+
+    Columns resolve(List<String> headerFields) {
+        return new Columns(column(dateColumn, headerFields, true), column(amountColumn, headerFields, true),
+                column(categoryColumn, headerFields, false), column(descriptionColumn, headerFields, false));
+    }
+
+    private static int column(String name, List<String> headerFields, boolean required) {
+        if (name == null || name.isBlank()) {
+            if (required) {
+                throw new IllegalArgumentException("Колонка не задана.");
+            }
+            return -1;
+        }
+        String trimmed = name.trim();
+        if (trimmed.chars().allMatch(Character::isDigit)) {
+            int index = Integer.parseInt(trimmed) - 1;
+            if (index < 0) {
+                throw new IllegalArgumentException("Некорректный номер колонки: " + trimmed);
+            }
+            return index;
+        }
+        if (headerFields != null) {
+            for (int i = 0; i < headerFields.size(); i++) {
+                if (headerFields.get(i).trim().equalsIgnoreCase(trimmed)) {
+                    return i;
+                }
+            }
+        }
+        if (!required) {
+            return -1;
+        }
+        throw new IllegalArgumentException("Колонка не найдена: " + trimmed);
+    }
+
+    record Columns(int date, int amount, int category, int description) {
+    }
+}
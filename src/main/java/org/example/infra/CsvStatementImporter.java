@@ -0,0 +1,283 @@
+package org.example.infra;
+
+import org.example.core.model.Money;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.service.FinanceService;
+import org.example.core.service.ImportError;
+import org.example.core.service.ImportRecord;
+import org.example.core.service.ImportResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CsvStatementImporter {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int MAX_ERRORS = 1000;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final FinanceService financeService;
+    private final CsvMapping mapping;
+    private final int workers;
+
+    public CsvStatementImporter(FinanceService financeService, CsvMapping mapping) {
+        this(financeService, mapping, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CsvStatementImporter(FinanceService financeService, CsvMapping mapping, int workers) {
+        this.financeService = financeService;
+        this.mapping = mapping;
+        this.workers = Math.max(1, workers);
+    }
+
+    public ImportResult importFile(User user, Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(user, reader);
+        }
+    }
+
+    public ImportResult importFrom(User user, BufferedReader reader) throws IOException {
+        long line = 0;
+        List<String> header = null;
+        if (mapping.hasHeader()) {
+            String first = reader.readLine();
+            if (first == null) {
+                return new ImportResult(0, List.of(), "");
+            }
+            line++;
+            header = splitLine(stripBom(first), mapping.getDelimiter());
+        }
+        CsvMapping.Columns columns = mapping.resolve(header);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            ChunkPipeline pipeline = new ChunkPipeline(reader, pool, columns, line);
+            List<ImportError> errors = new ArrayList<>();
+            long errorCount = 0;
+            long imported = 0;
+            ParsedChunk chunk;
+            while ((chunk = pipeline.next()) != null) {
+                List<ImportError> chunkErrors = chunk.errors;
+                if (!chunk.records.isEmpty()) {
+                    ImportResult applied = financeService.importTransactions(user, chunk.records.iterator());
+                    imported += applied.getImported();
+                    chunkErrors.addAll(applied.getErrors());
+                }
+                chunkErrors.sort(Comparator.comparingLong(ImportError::getIndex));
+                errorCount += chunkErrors.size();
+                for (ImportError error : chunkErrors) {
+                    if (errors.size() == MAX_ERRORS) {
+                        break;
+                    }
+                    errors.add(error);
+                }
+            }
+            String notifications = imported > 0 ? financeService.getNotifications(user) : "";
+            return new ImportResult(imported, errors, errorCount, notifications);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static List<String> splitLine(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private ParsedChunk parse(List<RawRecord> raw, CsvMapping.Columns columns) {
+        ParsedChunk chunk = new ParsedChunk(raw.size());
+        for (RawRecord record : raw) {
+            long line = record.line();
+            String text = record.text();
+            if (text.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitLine(text, mapping.getDelimiter());
+            String amountText = field(fields, columns.amount());
+            if (amountText == null) {
+                chunk.errors.add(new ImportError(line, "Не хватает колонок."));
+                continue;
+            }
+            long amount;
+            try {
+                amount = Money.parse(amountText.replace(" ", "").replace("\u00A0", ""));
+            } catch (NumberFormatException e) {
+                chunk.errors.add(new ImportError(line, "Некорректная сумма."));
+                continue;
+            }
+            String date = parseDate(field(fields, columns.date()));
+            if (date == null) {
+                chunk.errors.add(new ImportError(line, "Некорректная дата."));
+                continue;
+            }
+            String category = field(fields, columns.category());
+            if (category == null || category.isBlank()) {
+                category = mapping.getDefaultCategory();
+            }
+            String description = field(fields, columns.description());
+            TransactionType type = amount < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+            chunk.records.add(new ImportRecord(type, category, Math.abs(amount), date, description, line));
+        }
+        return chunk;
+    }
+
+    private String parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            LocalDate date = mapping.getDateFormat() == null
+                    ? LocalDate.parse(value.trim())
+                    : LocalDate.parse(value.trim(), mapping.getDateFormat());
+            return date.toString();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private static boolean opensQuote(String text, boolean quoted) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    private record RawRecord(long line, String text) {
+    }
+
+    private static final class ParsedChunk {
+        private final List<ImportRecord> records;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private ParsedChunk(int capacity) {
+            this.records = new ArrayList<>(capacity);
+        }
+    }
+
+    private final class ChunkPipeline {
+        private final BufferedReader reader;
+        private final ExecutorService pool;
+        private final CsvMapping.Columns columns;
+        private final ArrayDeque<Future<ParsedChunk>> window = new ArrayDeque<>();
+        private long line;
+        private boolean exhausted;
+
+        private ChunkPipeline(BufferedReader reader, ExecutorService pool, CsvMapping.Columns columns, long line) {
+            this.reader = reader;
+            this.pool = pool;
+            this.columns = columns;
+            this.line = line;
+        }
+
+        private ParsedChunk next() {
+            fill();
+            if (window.isEmpty()) {
+                return null;
+            }
+            ParsedChunk chunk = await(window.poll());
+            fill();
+            return chunk;
+        }
+
+        private void fill() {
+            while (!exhausted && window.size() < workers * 2) {
+                List<RawRecord> records = new ArrayList<>(CHUNK_SIZE);
+                try {
+                    RawRecord record;
+                    while (records.size() < CHUNK_SIZE && (record = readRecord()) != null) {
+                        records.add(record);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (records.size() < CHUNK_SIZE) {
+                    exhausted = true;
+                }
+                if (!records.isEmpty()) {
+                    window.add(pool.submit(() -> parse(records, columns)));
+                }
+            }
+        }
+
+        private RawRecord readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            long first = ++line;
+            boolean quoted = opensQuote(text, false);
+            if (!quoted) {
+                return new RawRecord(first, text);
+            }
+            StringBuilder record = new StringBuilder(text);
+            while (quoted && record.length() < MAX_RECORD_LENGTH && (text = reader.readLine()) != null) {
+                line++;
+                record.append('\n').append(text);
+                quoted = opensQuote(text, true);
+            }
+            return new RawRecord(first, record.toString());
+        }
+
+        private ParsedChunk await(Future<ParsedChunk> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JournalCheckpointer implements AutoCloseable {
+    private final JsonUserRepository snapshot;
+    private final Path journalDir;
+    private final ExecutorService executor;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private Future<?> running;
+
+    JournalCheckpointer(JsonUserRepository snapshot, Path journalDir) {
+        this.snapshot = snapshot;
+        this.journalDir = journalDir;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "journal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized boolean isRunning() {
+        return running != null && !running.isDone();
+    }
+
+    public int getCompletedCount() {
+        return completed.get();
+    }
+
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    synchronized void submit(long sealedGeneration) {
+        if (isRunning()) {
+            return;
+        }
+        running = executor.submit(() -> {
+            try {
+                checkpoint(sealedGeneration);
+                completed.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+    }
+
+    void await() {
+        Future<?> current;
+        synchronized (this) {
+            current = running;
+        }
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+        }
+    }
+
+    void checkpoint(long sealedGeneration) throws IOException {
+        JsonUserRepository.LoadedStore store = snapshot.readStore(LoadProgressListener.NONE);
+        Map<String, User> users = store.users();
+        long base = store.journalGeneration();
+        for (long gen : JournalFormat.generations(journalDir)) {
+            if (gen >= base && gen <= sealedGeneration) {
+                JournalFormat.replay(JournalFormat.segmentPath(journalDir, gen), gen, users);
+            }
+        }
+        snapshot.saveStore(new UserStore(new ArrayList<>(users.values()), sealedGeneration + 1));
+        for (long gen : JournalFormat.generations(journalDir)) {
+            if (gen <= sealedGeneration) {
+                Files.deleteIfExists(JournalFormat.segmentPath(journalDir, gen));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
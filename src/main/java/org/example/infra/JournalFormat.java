@@ -0,0 +1,305 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+final class JournalFormat {
+    static final int MAGIC = 0x464D4A31;
+    static final int HEADER_SIZE = 12;
+
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private static final byte REGISTER = 1;
+    private static final byte TRANSACTION = 2;
+    private static final byte TRANSFER = 3;
+    private static final byte BUDGET_SET = 4;
+    private static final byte BUDGET_REMOVE = 5;
+    private static final byte CATEGORY_RENAME = 6;
+    private static final byte CATEGORY_REMOVE = 7;
+
+    private JournalFormat() {
+    }
+
+    static Path segmentPath(Path dir, long generation) {
+        return dir.resolve(String.format("%s%012d%s", PREFIX, generation, SUFFIX));
+    }
+
+    static List<Long> generations(Path dir) throws IOException {
+        List<Long> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return result;
+        }
+        try (var files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            result.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                        } catch (NumberFormatException ignored) {
+                        }
+                    });
+        }
+        result.sort(Long::compare);
+        return result;
+    }
+
+    static ByteBuffer header(long generation) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC).putLong(generation).flip();
+        return buffer;
+    }
+
+    static byte[] register(User user) {
+        return encode(out -> {
+            out.writeByte(REGISTER);
+            writeString(out, user.getLogin());
+            writeString(out, user.getPasswordHash());
+        });
+    }
+
+    static byte[] transaction(User user, Transaction tx) {
+        return encode(out -> {
+            out.writeByte(TRANSACTION);
+            writeString(out, user.getLogin());
+            writeTransaction(out, tx);
+        });
+    }
+
+    static byte[] transfer(User sender, Transaction outTx, User receiver, Transaction inTx) {
+        return encode(out -> {
+            out.writeByte(TRANSFER);
+            writeString(out, sender.getLogin());
+            writeTransaction(out, outTx);
+            writeString(out, receiver.getLogin());
+            writeTransaction(out, inTx);
+        });
+    }
+
+    static byte[] budgetSet(User user, String category, long limit) {
+        return encode(out -> {
+            out.writeByte(BUDGET_SET);
+            writeString(out, user.getLogin());
+            writeString(out, category);
+            out.writeLong(limit);
+        });
+    }
+
+    static byte[] budgetRemoved(User user, String category) {
+        return encode(out -> {
+            out.writeByte(BUDGET_REMOVE);
+            writeString(out, user.getLogin());
+            writeString(out, category);
+        });
+    }
+
+    static byte[] categoryRenamed(User user, String from, String to) {
+        return encode(out -> {
+            out.writeByte(CATEGORY_RENAME);
+            writeString(out, user.getLogin());
+            writeString(out, from);
+            writeString(out, to);
+        });
+    }
+
+    static byte[] categoryRemoved(User user, String category) {
+        return encode(out -> {
+            out.writeByte(CATEGORY_REMOVE);
+            writeString(out, user.getLogin());
+            writeString(out, category);
+        });
+    }
+
+    static void frame(ByteArrayOutputStream target, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer prefix = ByteBuffer.allocate(8);
+        prefix.putInt(payload.length).putInt((int) crc.getValue());
+        target.write(prefix.array(), 0, 8);
+        target.write(payload, 0, payload.length);
+    }
+
+    static Replay replay(Path segment, long generation, Map<String, User> users) throws IOException {
+        try (InputStream raw = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            int magic;
+            long headerGeneration;
+            try {
+                magic = in.readInt();
+                headerGeneration = in.readLong();
+            } catch (EOFException e) {
+                return new Replay(0, 0);
+            }
+            if (magic != MAGIC || headerGeneration != generation) {
+                throw new IOException("Unexpected journal segment header: " + segment);
+            }
+            long valid = HEADER_SIZE;
+            int records = 0;
+            while (true) {
+                byte[] payload = readFrame(in);
+                if (payload == null) {
+                    return new Replay(valid, records);
+                }
+                apply(payload, users);
+                valid += 8 + payload.length;
+                records++;
+            }
+        }
+    }
+
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static void apply(byte[] payload, Map<String, User> users) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        if (op == REGISTER) {
+            String login = readString(in);
+            String hash = readString(in);
+            users.putIfAbsent(login.toLowerCase(), new User(login, hash));
+            return;
+        }
+        Wallet wallet = wallet(users, readString(in));
+        switch (op) {
+            case TRANSACTION -> {
+                Transaction tx = readTransaction(in);
+                if (wallet != null) {
+                    wallet.addTransaction(tx);
+                }
+            }
+            case TRANSFER -> {
+                Transaction outTx = readTransaction(in);
+                Wallet receiver = wallet(users, readString(in));
+                Transaction inTx = readTransaction(in);
+                if (wallet != null && receiver != null) {
+                    wallet.addTransaction(outTx);
+                    receiver.addTransaction(inTx);
+                }
+            }
+            case BUDGET_SET -> {
+                String category = readString(in);
+                long limit = in.readLong();
+                if (wallet != null) {
+                    wallet.setBudget(category, limit);
+                }
+            }
+            case BUDGET_REMOVE -> {
+                String category = readString(in);
+                if (wallet != null) {
+                    wallet.removeBudget(category);
+                }
+            }
+            case CATEGORY_RENAME -> {
+                String from = readString(in);
+                String to = readString(in);
+                if (wallet != null) {
+                    wallet.renameCategory(from, to);
+                }
+            }
+            case CATEGORY_REMOVE -> {
+                String category = readString(in);
+                if (wallet != null) {
+                    wallet.removeCategory(category);
+                }
+            }
+            default -> throw new IOException("Unknown journal record: " + op);
+        }
+    }
+
+    private static Wallet wallet(Map<String, User> users, String login) {
+        User user = users.get(login.toLowerCase());
+        return user == null ? null : user.getWallet();
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction tx) throws IOException {
+        writeString(out, tx.getId());
+        out.writeByte(tx.getType().ordinal());
+        writeString(out, tx.getCategory());
+        out.writeLong(tx.getAmount());
+        writeString(out, tx.getDescription());
+        writeString(out, tx.getDate());
+        writeString(out, tx.getCounterparty());
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        String id = readString(in);
+        TransactionType type = TransactionType.values()[in.readByte()];
+        String category = readString(in);
+        long amount = in.readLong();
+        String description = readString(in);
+        String date = readString(in);
+        String counterparty = readString(in);
+        return new Transaction(id, type, category, amount, description, date, counterparty);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(RecordBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            body.write(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    record Replay(long validLength, int records) {
+    }
+
+    private interface RecordBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
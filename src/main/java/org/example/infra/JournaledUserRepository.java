@@ -0,0 +1,240 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.User;
+import org.example.core.port.MutationListener;
+import org.example.core.port.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+public class JournaledUserRepository implements UserRepository, MutationListener {
+    private static final int DEFAULT_SYNC_BATCH_SIZE = 64;
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+    private static final long DEFAULT_CHECKPOINT_BYTES = 16L * 1024 * 1024;
+    private static final int DEFAULT_CHECKPOINT_RECORDS = 100_000;
+
+    private final JsonUserRepository snapshot;
+    private final Path journalDir;
+    private final int syncBatch;
+    private final long syncIntervalMillis;
+    private final long checkpointBytes;
+    private final int checkpointRecords;
+    private final JournalCheckpointer checkpointer;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private FileChannel channel;
+    private long generation;
+    private int pendingRecords;
+    private int unsyncedRecords;
+    private long activeBytes;
+    private int activeRecords;
+    private long lastSync = System.currentTimeMillis();
+
+    public JournaledUserRepository(Path snapshotPath, Path journalDir) {
+        this(snapshotPath, journalDir, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    public JournaledUserRepository(JsonUserRepository snapshot, Path journalDir) {
+        this(snapshot, journalDir, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS,
+                DEFAULT_CHECKPOINT_BYTES, DEFAULT_CHECKPOINT_RECORDS);
+    }
+
+    public JournaledUserRepository(Path snapshotPath, Path journalDir, int syncBatch, long syncIntervalMillis) {
+        this(snapshotPath, journalDir, syncBatch, syncIntervalMillis,
+                DEFAULT_CHECKPOINT_BYTES, DEFAULT_CHECKPOINT_RECORDS);
+    }
+
+    public JournaledUserRepository(Path snapshotPath, Path journalDir, int syncBatch, long syncIntervalMillis,
+                                   long checkpointBytes, int checkpointRecords) {
+        this(new JsonUserRepository(snapshotPath), journalDir, syncBatch, syncIntervalMillis,
+                checkpointBytes, checkpointRecords);
+    }
+
+    public JournaledUserRepository(JsonUserRepository snapshot, Path journalDir, int syncBatch,
+                                   long syncIntervalMillis, long checkpointBytes, int checkpointRecords) {
+        this.snapshot = snapshot;
+        this.journalDir = journalDir;
+        this.syncBatch = Math.max(1, syncBatch);
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.checkpointBytes = checkpointBytes;
+        this.checkpointRecords = checkpointRecords;
+        this.checkpointer = new JournalCheckpointer(snapshot, journalDir);
+    }
+
+    @Override
+    public synchronized Map<String, User> loadAll() {
+        JsonUserRepository.LoadedStore store = snapshot.loadStore();
+        Map<String, User> users = store.users();
+        long base = store.journalGeneration();
+        try {
+            long active = base;
+            JournalFormat.Replay tail = new JournalFormat.Replay(0, 0);
+            for (long gen : JournalFormat.generations(journalDir)) {
+                Path segment = JournalFormat.segmentPath(journalDir, gen);
+                if (gen < base) {
+                    Files.deleteIfExists(segment);
+                    continue;
+                }
+                active = gen;
+                tail = JournalFormat.replay(segment, gen, users);
+            }
+            openSegment(active, tail.validLength());
+            activeRecords = tail.records();
+            if (active > base) {
+                checkpointer.submit(active - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay journal: " + journalDir, e);
+        }
+        return users;
+    }
+
+    @Override
+    public synchronized void saveAll(Map<String, User> users) {
+        commit(false);
+    }
+
+    @Override
+    public boolean readsWalletsOnSave() {
+        return false;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            commit(true);
+        } finally {
+            closeChannel();
+            checkpointer.close();
+        }
+    }
+
+    @Override
+    public synchronized void userRegistered(User user) {
+        append(JournalFormat.register(user));
+    }
+
+    @Override
+    public synchronized void transactionAdded(User user, Transaction transaction) {
+        append(JournalFormat.transaction(user, transaction));
+    }
+
+    @Override
+    public synchronized void transferred(User sender, Transaction outTransaction,
+                                         User receiver, Transaction inTransaction) {
+        append(JournalFormat.transfer(sender, outTransaction, receiver, inTransaction));
+    }
+
+    @Override
+    public synchronized void budgetSet(User user, String category, long limit) {
+        append(JournalFormat.budgetSet(user, category, limit));
+    }
+
+    @Override
+    public synchronized void budgetRemoved(User user, String category) {
+        append(JournalFormat.budgetRemoved(user, category));
+    }
+
+    @Override
+    public synchronized void categoryRenamed(User user, String from, String to) {
+        append(JournalFormat.categoryRenamed(user, from, to));
+    }
+
+    @Override
+    public synchronized void categoryRemoved(User user, String category) {
+        append(JournalFormat.categoryRemoved(user, category));
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public JournalCheckpointer getCheckpointer() {
+        return checkpointer;
+    }
+
+    private void append(byte[] payload) {
+        JournalFormat.frame(pending, payload);
+        pendingRecords++;
+    }
+
+    private void commit(boolean forceSync) {
+        if (channel == null) {
+            if (pendingRecords > 0) {
+                throw new UncheckedIOException(new IOException("Journal is not open: " + journalDir));
+            }
+            return;
+        }
+        try {
+            if (pending.size() > 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                activeBytes += pending.size();
+                activeRecords += pendingRecords;
+                pending.reset();
+                unsyncedRecords += pendingRecords;
+                pendingRecords = 0;
+            }
+            long now = System.currentTimeMillis();
+            boolean due = unsyncedRecords >= syncBatch || now - lastSync >= syncIntervalMillis;
+            if (unsyncedRecords > 0 && (forceSync || due)) {
+                channel.force(false);
+                unsyncedRecords = 0;
+                lastSync = now;
+            }
+            if ((activeBytes >= checkpointBytes || activeRecords >= checkpointRecords) && !checkpointer.isRunning()) {
+                rotate();
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw new UncheckedIOException("Failed to write journal: " + journalDir, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        long sealed = generation;
+        channel.force(false);
+        unsyncedRecords = 0;
+        closeChannel();
+        openSegment(sealed + 1, 0);
+        activeRecords = 0;
+        checkpointer.submit(sealed);
+    }
+
+    private void openSegment(long gen, long validLength) throws IOException {
+        Files.createDirectories(journalDir);
+        Path segment = JournalFormat.segmentPath(journalDir, gen);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength < JournalFormat.HEADER_SIZE) {
+            channel.truncate(0);
+            channel.write(JournalFormat.header(gen), 0);
+            channel.force(true);
+            validLength = JournalFormat.HEADER_SIZE;
+        } else {
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+        activeBytes = validLength;
+        generation = gen;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+}
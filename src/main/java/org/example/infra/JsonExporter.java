@@ -0,0 +1,94 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+import org.example.core.service.FinanceService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+public class JsonExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FinanceService financeService;
+
+    public JsonExporter(FinanceService financeService) {
+        this.financeService = financeService;
+    }
+
+    public Summary export(Collection<User> users, Path target, Options options) throws IOException {
+        List<User> selected = users.stream()
+                .filter(user -> options.logins() == null
+                        || options.logins().contains(user.getLogin().toLowerCase(Locale.ROOT)))
+                .sorted(Comparator.comparing(User::getLogin, String.CASE_INSENSITIVE_ORDER))
+                .collect(Collectors.toList());
+        long[] transactions = {0};
+        AtomicFiles.replace(target, temp -> {
+            OutputStream stream = Files.newOutputStream(temp);
+            if (options.gzip()) {
+                stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+            }
+            try (UserJsonWriter writer = new UserJsonWriter(new BufferedWriter(
+                    new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE), options.pretty())) {
+                writer.beginStore();
+                for (User user : selected) {
+                    transactions[0] += writeUser(writer, user, options);
+                }
+                writer.endStore(0);
+            }
+        });
+        return new Summary(selected.size(), transactions[0]);
+    }
+
+    private long writeUser(UserJsonWriter writer, User user, Options options) throws IOException {
+        Wallet detached = user.readDetachedWallet();
+        WalletCopy copy = detached != null
+                ? copy(detached, options)
+                : financeService.withWallet(user, wallet -> copy(wallet, options));
+        writer.beginUser(user.getLogin(), user.getPasswordHash());
+        long balance = 0;
+        for (Transaction tx : copy.transactions()) {
+            writer.writeTransaction(tx);
+            if (tx.getType() != null) {
+                balance += tx.getType().isIncoming() ? tx.getAmount() : -tx.getAmount();
+            }
+        }
+        writer.endUser(copy.filtered() ? balance : copy.balance(), copy.budgets());
+        return copy.transactions().size();
+    }
+
+    private static WalletCopy copy(Wallet wallet, Options options) {
+        boolean filtered = options.from() != null || options.to() != null;
+        return new WalletCopy(wallet.snapshotTransactions(options.from(), options.to(), false), filtered,
+                wallet.getBalance(), new LinkedHashMap<>(wallet.getBudgets()));
+    }
+
+    private record WalletCopy(List<Transaction> transactions, boolean filtered, long balance,
+                              Map<String, Long> budgets) {
+    }
+
+    public record Options(boolean pretty, boolean gzip, Set<String> logins, LocalDate from, LocalDate to) {
+        public static Options defaults() {
+            return new Options(true, false, null, null, null);
+        }
+    }
+
+    public record Summary(long users, long transactions) {
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.example.core.service.MergeResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+public class JsonMergeImporter {
+    private final AuthService authService;
+    private final FinanceService financeService;
+
+    public JsonMergeImporter(AuthService authService, FinanceService financeService) {
+        this.authService = authService;
+        this.financeService = financeService;
+    }
+
+    public Summary importFile(Path source) throws IOException {
+        Tally tally = new Tally();
+        InputStream in = Files.newInputStream(source);
+        if (source.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        try (UserJsonReader reader = new UserJsonReader(in, LoadProgressListener.NONE)) {
+            reader.readAll(tally::merge);
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Corrupted data file: " + source, e);
+        }
+        return new Summary(tally.users, tally.createdUsers, tally.added, tally.duplicates, tally.skipped,
+                tally.budgets);
+    }
+
+    private final class Tally {
+        private long users;
+        private long createdUsers;
+        private long added;
+        private long duplicates;
+        private long skipped;
+        private long budgets;
+
+        private void merge(User incoming) {
+            boolean known = authService.getUsers().containsKey(incoming.getLogin().trim().toLowerCase());
+            User target = authService.importUser(incoming.getLogin(), incoming.getPasswordHash());
+            MergeResult result = financeService.mergeWallet(target, incoming.getWallet());
+            users++;
+            if (!known) {
+                createdUsers++;
+            }
+            added += result.getAddedTransactions();
+            duplicates += result.getDuplicateTransactions();
+            skipped += result.getSkippedTransactions();
+            budgets += result.getAddedBudgets();
+        }
+    }
+
+    public record Summary(long users, long createdUsers, long addedTransactions, long duplicateTransactions,
+                          long skippedTransactions, long addedBudgets) {
+    }
+}
@@ -1,60 +1,81 @@
 package org.example.infra;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.example.core.model.User;
 import org.example.core.port.UserRepository;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class JsonUserRepository implements UserRepository {
     private final Path path;
-    private final Gson gson;
+    private final LoadProgressListener progress;
 
     public JsonUserRepository(Path path) {
+        this(path, LoadProgressListener.NONE);
+    }
+
+    public JsonUserRepository(Path path, LoadProgressListener progress) {
         this.path = path;
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.progress = progress;
     }
 
     @Override
     public Map<String, User> loadAll() {
+        return loadStore().users();
+    }
+
+    @Override
+    public void saveAll(Map<String, User> users) {
+        try {
+            saveStore(new UserStore(new java.util.ArrayList<>(users.values())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save data file: " + path, e);
+        }
+    }
+
+    LoadedStore loadStore() {
+        try {
+            return readStore(progress);
+        } catch (NoSuchFileException e) {
+            return new LoadedStore(new HashMap<>(), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load data file: " + path, e);
+        }
+    }
+
+    LoadedStore readStore(LoadProgressListener listener) throws IOException {
+        Map<String, User> users = new HashMap<>();
         if (!Files.exists(path)) {
-            return new HashMap<>();
+            return new LoadedStore(users, 0);
         }
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            UserStore store = gson.fromJson(reader, UserStore.class);
-            Map<String, User> result = new HashMap<>();
-            if (store != null && store.getUsers() != null) {
+        try (UserJsonReader reader = new UserJsonReader(Files.newInputStream(path), listener)) {
+            reader.readAll(user -> users.put(user.getLogin().toLowerCase(), user));
+            return new LoadedStore(users, reader.getJournalGeneration());
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Corrupted data file: " + path, e);
+        }
+    }
+
+    void saveStore(UserStore store) throws IOException {
+        store.getUsers().forEach(User::getWallet);
+        AtomicFiles.replace(path, temp -> {
+            try (UserJsonWriter writer = new UserJsonWriter(
+                    Files.newBufferedWriter(temp, StandardCharsets.UTF_8), true)) {
+                writer.beginStore();
                 for (User user : store.getUsers()) {
-                    result.put(user.getLogin().toLowerCase(), user);
+                    writer.writeUser(user);
                 }
+                writer.endStore(store.getJournalGeneration());
             }
-            return result;
-        } catch (IOException e) {
-            return new HashMap<>();
-        }
+        });
     }
 
-    @Override
-    public void saveAll(Map<String, User> users) {
-        try {
-            if (path.getParent() != null) {
-                Files.createDirectories(path.getParent());
-            }
-            List<User> list = new java.util.ArrayList<>(users.values());
-            UserStore store = new UserStore(list);
-            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-                gson.toJson(store, writer);
-            }
-        } catch (IOException ignored) {
-        }
+    record LoadedStore(Map<String, User> users, long journalGeneration) {
     }
 }
@@ -0,0 +1,8 @@
+package org.example.infra;
+
+public interface LoadProgressListener {
+    LoadProgressListener NONE = (users, transactions, bytesRead) -> {
+    };
+
+    void onProgress(long users, long transactions, long bytesRead);
+}
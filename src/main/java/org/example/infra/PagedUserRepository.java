@@ -0,0 +1,190 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+import org.example.core.port.UserRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PagedUserRepository implements UserRepository {
+    static final int INDEX_MAGIC = 0x464D5049;
+    static final int SEGMENT_MAGIC = 0x464D5053;
+    static final int VERSION = 1;
+    static final int SEGMENT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path dir;
+    private final Path walletsDir;
+    private final Map<String, Long> segments = new HashMap<>();
+    private long nextSegment;
+    private boolean indexChanged;
+    private long pagedIn;
+    private long segmentWrites;
+    private long indexWrites;
+
+    public PagedUserRepository(Path dir) {
+        this.dir = dir;
+        this.walletsDir = dir.resolve("wallets");
+    }
+
+    @Override
+    public synchronized Map<String, User> loadAll() {
+        Map<String, User> result = new HashMap<>();
+        Path index = dir.resolve("index.bin");
+        if (!Files.exists(index)) {
+            return result;
+        }
+        Map<String, Long> loaded = new HashMap<>();
+        long next;
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            BinaryChannelReader in = new BinaryChannelReader(channel, BUFFER_SIZE);
+            if (in.getInt() != INDEX_MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Unsupported wallet index: " + index);
+            }
+            next = in.getLong();
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                String login = in.getString();
+                String passwordHash = in.getString();
+                long segment = in.getLong();
+                if (login == null || segment < 0 || segment >= next) {
+                    throw new IOException("Corrupted wallet index: " + index);
+                }
+                String key = login.toLowerCase();
+                loaded.put(key, segment);
+                result.put(key, new User(login, passwordHash, () -> pageIn(segment)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load wallet index: " + index, e);
+        }
+        segments.clear();
+        segments.putAll(loaded);
+        nextSegment = next;
+        indexChanged = false;
+        return result;
+    }
+
+    @Override
+    public synchronized void saveAll(Map<String, User> users) {
+        try {
+            for (Map.Entry<String, User> entry : users.entrySet()) {
+                if (entry.getValue().isWalletLoaded()) {
+                    writeSegment(segmentFor(entry.getKey()), entry.getValue().getWallet());
+                }
+            }
+            writeIndex(users);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save wallets: " + dir, e);
+        }
+    }
+
+    @Override
+    public synchronized void saveChanged(Map<String, User> users, Collection<User> changed) {
+        try {
+            for (User user : changed) {
+                String key = user.getLogin().toLowerCase();
+                if (!segments.containsKey(key)) {
+                    indexChanged = true;
+                }
+                if (user.isWalletLoaded()) {
+                    writeSegment(segmentFor(key), user.getWallet());
+                }
+            }
+            if (indexChanged) {
+                writeIndex(users);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save wallets: " + dir, e);
+        }
+    }
+
+    public synchronized long getPagedInCount() {
+        return pagedIn;
+    }
+
+    public synchronized long getSegmentWriteCount() {
+        return segmentWrites;
+    }
+
+    public synchronized long getIndexWriteCount() {
+        return indexWrites;
+    }
+
+    private long segmentFor(String key) {
+        return segments.computeIfAbsent(key, k -> nextSegment++);
+    }
+
+    private Path segmentPath(long segment) {
+        return walletsDir.resolve(String.format("%012x.seg", segment));
+    }
+
+    private Wallet pageIn(long segment) {
+        Path path = segmentPath(segment);
+        synchronized (this) {
+            pagedIn++;
+        }
+        if (!Files.exists(path)) {
+            return new Wallet();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            BinaryChannelReader in = new BinaryChannelReader(mapped);
+            if (in.getInt() != SEGMENT_MAGIC || in.getInt() != SEGMENT_VERSION) {
+                throw new IOException("Unsupported wallet segment: " + path);
+            }
+            String[] strings = BinaryUserRepository.StringTable.read(in);
+            return BinaryUserRepository.readWallet(in, strings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSegment(long segment, Wallet wallet) throws IOException {
+        BinaryUserRepository.StringTable strings = new BinaryUserRepository.StringTable();
+        strings.collect(wallet);
+        segmentWrites++;
+        AtomicFiles.replace(segmentPath(segment), temp -> {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                BinaryChannelWriter out = new BinaryChannelWriter(channel, BUFFER_SIZE);
+                out.putInt(SEGMENT_MAGIC);
+                out.putInt(SEGMENT_VERSION);
+                strings.write(out);
+                BinaryUserRepository.writeWallet(out, wallet, strings);
+                out.flush();
+            }
+        });
+    }
+
+    private void writeIndex(Map<String, User> users) throws IOException {
+        users.keySet().forEach(this::segmentFor);
+        indexWrites++;
+        AtomicFiles.replace(dir.resolve("index.bin"), temp -> {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                BinaryChannelWriter out = new BinaryChannelWriter(channel, BUFFER_SIZE);
+                out.putInt(INDEX_MAGIC);
+                out.putInt(VERSION);
+                out.putLong(nextSegment);
+                out.putInt(users.size());
+                for (Map.Entry<String, User> entry : users.entrySet()) {
+                    out.putString(entry.getValue().getLogin());
+                    out.putString(entry.getValue().getPasswordHash());
+                    out.putLong(segmentFor(entry.getKey()));
+                }
+                out.flush();
+            }
+        });
+        indexChanged = false;
+    }
+}
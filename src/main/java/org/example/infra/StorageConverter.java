@@ -0,0 +1,45 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+
+public final class StorageConverter {
+    private StorageConverter() {
+    }
+
+    public static int jsonToBinary(Path json, Path binary) throws IOException {
+        Map<String, User> users = new JsonUserRepository(json).readStore(LoadProgressListener.NONE).users();
+        new BinaryUserRepository(binary).writeUsers(users);
+        return users.size();
+    }
+
+    public static int binaryToJson(Path binary, Path json) throws IOException {
+        Map<String, User> users = new BinaryUserRepository(binary).readUsers();
+        new JsonUserRepository(json).saveStore(new UserStore(new ArrayList<>(users.values())));
+        return users.size();
+    }
+
+    public static boolean isBinary(Path path) {
+        return path.getFileName().toString().endsWith(".bin");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Использование: StorageConverter <источник> <назначение> (.json или .bin)");
+            return;
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        if (!Files.exists(source)) {
+            System.out.println("Файл не найден: " + source);
+            return;
+        }
+        int count = isBinary(source) ? binaryToJson(source, target) : jsonToBinary(source, target);
+        System.out.println("Конвертация завершена. Пользователей: " + count);
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.infra;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.example.core.model.Money;
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class UserJsonReader implements Closeable {
+    private static final int PROGRESS_STEP = 4096;
+
+    private final CountingInputStream counter;
+    private final JsonReader reader;
+    private final LoadProgressListener progress;
+    private long users;
+    private long transactions;
+    private long journalGeneration;
+
+    public UserJsonReader(InputStream in, LoadProgressListener progress) {
+        this.counter = new CountingInputStream(new BufferedInputStream(in, 64 * 1024));
+        this.reader = new JsonReader(new InputStreamReader(counter, StandardCharsets.UTF_8));
+        this.progress = progress;
+    }
+
+    public void readAll(Consumer<User> sink) throws IOException {
+        try {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return;
+            }
+        } catch (EOFException e) {
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("users") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    User user = readUser();
+                    users++;
+                    progress.onProgress(users, transactions, counter.getCount());
+                    if (user.getLogin() != null) {
+                        sink.accept(user);
+                    }
+                }
+                reader.endArray();
+            } else if (name.equals("journalGeneration")) {
+                journalGeneration = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        progress.onProgress(users, transactions, counter.getCount());
+    }
+
+    public long getUserCount() {
+        return users;
+    }
+
+    public long getTransactionCount() {
+        return transactions;
+    }
+
+    public long getBytesRead() {
+        return counter.getCount();
+    }
+
+    public long getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private User readUser() throws IOException {
+        String login = null;
+        String passwordHash = null;
+        Wallet wallet = new Wallet();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "login" -> login = nextString();
+                case "passwordHash" -> passwordHash = nextString();
+                case "wallet" -> readWallet(wallet);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new User(login, passwordHash, wallet);
+    }
+
+    private void readWallet(Wallet wallet) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "balance" -> wallet.setBalance(nextAmount());
+                case "transactions" -> readTransactions(wallet);
+                case "budgets" -> readBudgets(wallet);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void readTransactions(Wallet wallet) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            wallet.getTransactions().add(readTransaction());
+            transactions++;
+            if (transactions % PROGRESS_STEP == 0) {
+                progress.onProgress(users, transactions, counter.getCount());
+            }
+        }
+        reader.endArray();
+    }
+
+    private Transaction readTransaction() throws IOException {
+        String id = null;
+        TransactionType type = null;
+        String category = null;
+        long amount = 0;
+        String description = null;
+        String date = null;
+        String counterparty = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> id = nextString();
+                case "type" -> type = parseType(nextString());
+                case "category" -> category = nextString();
+                case "amount" -> amount = nextAmount();
+                case "description" -> description = nextString();
+                case "date" -> date = nextString();
+                case "counterparty" -> counterparty = nextString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Transaction(id, type, category, amount, description, date, counterparty);
+    }
+
+    private void readBudgets(Wallet wallet) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            wallet.setBudget(reader.nextName(), nextAmount());
+        }
+        reader.endObject();
+    }
+
+    private long nextAmount() throws IOException {
+        return Money.fromDecimal(new BigDecimal(reader.nextString()));
+    }
+
+    private String nextString() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private TransactionType parseType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
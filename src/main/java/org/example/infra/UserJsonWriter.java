@@ -0,0 +1,106 @@
+package org.example.infra;
+
+import com.google.gson.stream.JsonWriter;
+import org.example.core.model.Money;
+import org.example.core.model.Transaction;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+public class UserJsonWriter implements Closeable {
+    private final JsonWriter writer;
+
+    public UserJsonWriter(Writer out, boolean pretty) {
+        this.writer = new JsonWriter(out);
+        writer.setSerializeNulls(false);
+        if (pretty) {
+            writer.setIndent("  ");
+        }
+    }
+
+    public void beginStore() throws IOException {
+        writer.beginObject();
+        writer.name("users").beginArray();
+    }
+
+    public void endStore(long journalGeneration) throws IOException {
+        writer.endArray();
+        writer.name("journalGeneration").value(journalGeneration);
+        writer.endObject();
+    }
+
+    public void writeUser(User user) throws IOException {
+        writer.beginObject();
+        writer.name("login").value(user.getLogin());
+        writer.name("passwordHash").value(user.getPasswordHash());
+        Wallet wallet = user.getWallet();
+        if (wallet != null) {
+            writer.name("wallet");
+            writeWallet(wallet);
+        }
+        writer.endObject();
+    }
+
+    public void beginUser(String login, String passwordHash) throws IOException {
+        writer.beginObject();
+        writer.name("login").value(login);
+        writer.name("passwordHash").value(passwordHash);
+        writer.name("wallet").beginObject();
+        writer.name("transactions").beginArray();
+    }
+
+    public void endUser(long balance, Map<String, Long> budgets) throws IOException {
+        writer.endArray();
+        writer.name("balance").value(Money.toDecimal(balance));
+        writeBudgets(budgets);
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private void writeWallet(Wallet wallet) throws IOException {
+        writer.beginObject();
+        writer.name("balance").value(Money.toDecimal(wallet.getBalance()));
+        writer.name("transactions").beginArray();
+        List<Transaction> transactions = wallet.getTransactions();
+        for (int i = 0; i < transactions.size(); i++) {
+            writeTransaction(transactions.get(i));
+        }
+        writer.endArray();
+        writeBudgets(wallet.getBudgets());
+        writer.endObject();
+    }
+
+    private void writeBudgets(Map<String, Long> budgets) throws IOException {
+        writer.name("budgets").beginObject();
+        for (Map.Entry<String, Long> budget : budgets.entrySet()) {
+            writer.name(budget.getKey()).value(Money.toDecimal(budget.getValue()));
+        }
+        writer.endObject();
+    }
+
+    public void writeTransaction(Transaction tx) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(tx.getId());
+        writer.name("type").value(tx.getType() == null ? null : tx.getType().name());
+        writer.name("category").value(tx.getCategory());
+        writer.name("amount").value(Money.toDecimal(tx.getAmount()));
+        writer.name("description").value(tx.getDescription());
+        writer.name("date").value(tx.getDate());
+        writer.name("counterparty").value(tx.getCounterparty());
+        writer.endObject();
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 
 public class UserStore {
     private List<User> users = new ArrayList<>();
+    private long journalGeneration;
 
     public UserStore() {
     }
@@ -15,7 +16,16 @@ public class UserStore {
         this.users = users;
     }
 
+    public UserStore(List<User> users, long journalGeneration) {
+        this.users = users;
+        this.journalGeneration = journalGeneration;
+    }
+
     public List<User> getUsers() {
         return users;
     }
+
+    public long getJournalGeneration() {
+        return journalGeneration;
+    }
 }
@@ -0,0 +1,264 @@
+package org.example.tools;
+
+import org.example.core.model.Money;
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.service.AuthService;
+import org.example.infra.UserJsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+public final class DatasetGenerator {
+    private static final String[] EXPENSE_NAMES = {
+            "Еда", "Транспорт", "Такси", "Аренда", "Коммунальные услуги", "Здоровье", "Кино", "Книги",
+            "Спорт", "Путешествия", "Подарки", "Одежда", "Связь", "Образование", "Кафе", "Дом"
+    };
+    private static final String[] INCOME_NAMES = {"Зарплата", "Премия", "Проценты", "Подработка"};
+    private static final String[] DESCRIPTIONS = {"", "", "обед", "по карте", "наличные", "ежемесячно", "долг"};
+    private static final int MAX_NEIGHBOURS = 3;
+
+    private final Options options;
+    private final String passwordHash;
+    private final int neighbours;
+    private final long fromDay;
+    private long transactions;
+
+    public DatasetGenerator(Options options) {
+        this.options = options;
+        this.passwordHash = AuthService.hashPassword(options.password());
+        this.neighbours = Math.min(MAX_NEIGHBOURS, options.users() - 1);
+        this.fromDay = options.from().toEpochDay();
+    }
+
+    public long getTransactionCount() {
+        return transactions;
+    }
+
+    public void write(Writer out, boolean pretty) throws IOException {
+        UserJsonWriter writer = new UserJsonWriter(out, pretty);
+        writer.beginStore();
+        for (int user = 0; user < options.users(); user++) {
+            writeUser(writer, user);
+        }
+        writer.endStore(0);
+        writer.flush();
+    }
+
+    public static String login(int user) {
+        return "user" + (user + 1);
+    }
+
+    private void writeUser(UserJsonWriter writer, int user) throws IOException {
+        writer.beginUser(login(user), passwordHash);
+        List<OpStream> streams = new ArrayList<>();
+        streams.add(new OpStream(user, -1));
+        for (int i = 1; i <= neighbours; i++) {
+            streams.add(new OpStream(Math.floorMod(user - i, options.users()), user));
+        }
+        long balance = 0;
+        while (true) {
+            OpStream next = null;
+            for (OpStream stream : streams) {
+                if (stream.current != null && (next == null || stream.current.day < next.current.day)) {
+                    next = stream;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Op op = next.current;
+            Transaction tx = next.receiver < 0 ? ownTransaction(op) : incomingTransfer(next.user, op);
+            balance += tx.getType().isIncoming() ? tx.getAmount() : -tx.getAmount();
+            writer.writeTransaction(tx);
+            transactions++;
+            next.advance();
+        }
+        writer.endUser(balance, budgets(user));
+    }
+
+    private Transaction ownTransaction(Op op) {
+        String date = LocalDate.ofEpochDay(op.day).toString();
+        if (op.type == TransactionType.TRANSFER_OUT) {
+            return new Transaction(new UUID(op.idHigh, op.idLow).toString(), TransactionType.TRANSFER_OUT,
+                    "Перевод", op.amount, op.description, date, login(op.target));
+        }
+        return new Transaction(new UUID(op.idHigh, op.idLow).toString(), op.type, op.category,
+                op.amount, op.description, date, null);
+    }
+
+    private Transaction incomingTransfer(int sender, Op op) {
+        return new Transaction(new UUID(op.idLow, op.idHigh).toString(), TransactionType.TRANSFER_IN,
+                "Перевод", op.amount, op.description, LocalDate.ofEpochDay(op.day).toString(), login(sender));
+    }
+
+    private Map<String, Long> budgets(int user) {
+        Random random = new Random(mix(options.seed() + 1, user));
+        Map<String, Long> budgets = new LinkedHashMap<>();
+        for (int category = 0; category < options.categories(); category++) {
+            if (random.nextDouble() < options.budgetCoverage()) {
+                budgets.put(expenseCategory(category), Money.ofMajor(1000L * (1 + random.nextInt(50))));
+            }
+        }
+        return budgets;
+    }
+
+    private static String expenseCategory(int index) {
+        String name = EXPENSE_NAMES[index % EXPENSE_NAMES.length];
+        return index < EXPENSE_NAMES.length ? name : name + " " + (index / EXPENSE_NAMES.length + 1);
+    }
+
+    private static long mix(long seed, int user) {
+        long value = seed ^ (user * 0x9E3779B97F4A7C15L);
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return value ^ (value >>> 33);
+    }
+
+    private static final class Op {
+        private long day;
+        private TransactionType type;
+        private String category;
+        private long amount;
+        private String description;
+        private int target;
+        private long idHigh;
+        private long idLow;
+    }
+
+    private final class OpStream {
+        private final int user;
+        private final int receiver;
+        private final Random random;
+        private final Op op = new Op();
+        private int index;
+        private long ownBalance;
+        private Op current;
+
+        private OpStream(int user, int receiver) {
+            this.user = user;
+            this.receiver = receiver;
+            this.random = new Random(mix(options.seed(), user));
+            advance();
+        }
+
+        private void advance() {
+            while (index < options.transactionsPerUser()) {
+                generate(index++);
+                if (receiver < 0 || (op.type == TransactionType.TRANSFER_OUT && op.target == receiver)) {
+                    current = op;
+                    return;
+                }
+            }
+            current = null;
+        }
+
+        private void generate(int i) {
+            op.day = fromDay + (long) i * options.days() / Math.max(1, options.transactionsPerUser());
+            op.idHigh = random.nextLong();
+            op.idLow = random.nextLong();
+            op.description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+            double roll = random.nextDouble();
+            if (neighbours > 0 && roll < options.transferDensity()) {
+                op.type = TransactionType.TRANSFER_OUT;
+                op.target = Math.floorMod(user + 1 + random.nextInt(neighbours), options.users());
+                op.amount = Money.ofMajor(100 + random.nextInt(2000));
+            } else if (roll < options.transferDensity() + (1 - options.transferDensity()) * 0.2) {
+                op.type = TransactionType.INCOME;
+                op.category = INCOME_NAMES[random.nextInt(INCOME_NAMES.length)];
+                op.amount = Money.ofMajor(5000 + random.nextInt(50_000));
+            } else {
+                op.type = TransactionType.EXPENSE;
+                op.category = expenseCategory(random.nextInt(Math.max(1, options.categories())));
+                op.amount = Money.ofMajor(10) + random.nextInt(300_000);
+            }
+            if (op.type != TransactionType.INCOME && op.amount > ownBalance) {
+                op.type = TransactionType.INCOME;
+                op.category = INCOME_NAMES[0];
+                op.amount = Money.ofMajor(5000 + random.nextInt(50_000));
+            }
+            ownBalance += op.type == TransactionType.INCOME ? op.amount : -op.amount;
+        }
+    }
+
+    public record Options(int users, int transactionsPerUser, int categories, LocalDate from, int days,
+                          double transferDensity, double budgetCoverage, long seed, String password) {
+        public static Options defaults() {
+            return new Options(100, 1000, 12, LocalDate.of(2016, 1, 1), 3650, 0.05, 0.5, 42, "password");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            printUsage();
+            return;
+        }
+        Path target = Path.of(args[0]);
+        Options defaults = Options.defaults();
+        int users = defaults.users();
+        int perUser = defaults.transactionsPerUser();
+        int categories = defaults.categories();
+        LocalDate from = defaults.from();
+        int days = defaults.days();
+        double transfers = defaults.transferDensity();
+        double budgets = defaults.budgetCoverage();
+        long seed = defaults.seed();
+        String password = defaults.password();
+        boolean pretty = false;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--users" -> users = Integer.parseInt(args[++i]);
+                    case "--transactions" -> perUser = Integer.parseInt(args[++i]);
+                    case "--categories" -> categories = Integer.parseInt(args[++i]);
+                    case "--from" -> from = LocalDate.parse(args[++i]);
+                    case "--days" -> days = Integer.parseInt(args[++i]);
+                    case "--transfers" -> transfers = Double.parseDouble(args[++i]);
+                    case "--budgets" -> budgets = Double.parseDouble(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--password" -> password = args[++i];
+                    case "--pretty" -> pretty = true;
+                    default -> {
+                        printUsage();
+                        return;
+                    }
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            printUsage();
+            return;
+        }
+        if (users <= 0 || perUser < 0 || categories <= 0 || days <= 0) {
+            printUsage();
+            return;
+        }
+        DatasetGenerator generator = new DatasetGenerator(new Options(users, perUser, categories, from, days,
+                transfers, budgets, seed, password));
+        long started = System.nanoTime();
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            generator.write(out, pretty);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Сгенерировано пользователей: %d, операций: %d, размер: %d байт, время: %.1f с%n",
+                users, generator.getTransactionCount(), Files.size(target), seconds);
+    }
+
+    private static void printUsage() {
+        System.out.println("Использование: DatasetGenerator <файл.json> [--users N] [--transactions N]"
+                + " [--categories N] [--from ГГГГ-ММ-ДД] [--days N] [--transfers доля] [--budgets доля]"
+                + " [--seed N] [--password пароль] [--pretty]");
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.cli;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.example.core.model.Wallet;
+import org.example.infra.LoadProgressListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsoleAppTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void batchRunsCommandsAndReportsFailedLines() {
+        Path storage = tempDir.resolve("users.json");
+        AppServices services = AppServices.open(storage, LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        services.getAuthService().register("bob", "pw");
+        String commands = String.join("\n",
+                "# выписка",
+                "доход Зарплата 1000 2026-01-01",
+                "расход Еда 250,50 2026-01-02 обед",
+                "расход Еда сто",
+                "перевод bob 100 2026-01-03",
+                "бюджет установить Еда 500",
+                "экспорт",
+                "пользователь bob",
+                "расход Такси 50 2026-01-04",
+                "пользователь nobody",
+                "");
+        StringWriter output = new StringWriter();
+        ConsoleApp app = new ConsoleApp(services, new BufferedReader(new StringReader("")), new PrintWriter(output));
+
+        boolean success = app.runBatch(new BufferedReader(new StringReader(commands)), "alice");
+
+        assertFalse(success);
+        String text = output.toString();
+        assertTrue(text.contains("Строка 4: расход Еда сто"));
+        assertTrue(text.contains("Некорректная сумма."));
+        assertTrue(text.contains("Строка 7: экспорт"));
+        assertTrue(text.contains("Строка 10: пользователь nobody"));
+        assertFalse(text.contains("Строка 2:"));
+        assertTrue(text.contains("Выполнено команд: 9, ошибок: 3"));
+        assertEquals(64950, services.getAuthService().getUsers().get("alice").getWallet().getBalance());
+        assertEquals(5000, services.getAuthService().getUsers().get("bob").getWallet().getBalance());
+        services.close();
+
+        AppServices reopened = AppServices.open(storage, LoadProgressListener.NONE);
+        assertEquals(64950, reopened.getAuthService().getUsers().get("alice").getWallet().getBalance());
+        assertEquals(50000, reopened.getAuthService().getUsers().get("alice").getWallet().getBudgets().get("Еда"));
+        reopened.close();
+    }
+
+    @Test
+    void batchWithUnknownUserFailsWithoutRunningCommands() {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        StringWriter output = new StringWriter();
+        ConsoleApp app = new ConsoleApp(services, new BufferedReader(new StringReader("")), new PrintWriter(output));
+
+        boolean success = app.runBatch(new BufferedReader(new StringReader("доход Зарплата 1000\n")), "nobody");
+
+        assertFalse(success);
+        String text = output.toString();
+        assertTrue(text.contains("Пользователь не найден: nobody"), text);
+        assertTrue(text.contains("Выполнено команд: 0, ошибок: 1"), text);
+        services.close();
+    }
+
+    @Test
+    void periodReportAcceptsOpenEndedDateLimits() {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        String commands = String.join("\n",
+                "доход Зарплата 1000 2026-01-01",
+                "расход Еда 250 2026-02-01",
+                "отчет период 2026-01-01 +999999999-12-31",
+                "отчет период -999999999-01-01 2026-01-31",
+                "отчет период -999999999-01-01 +999999999-12-31",
+                "");
+        StringWriter output = new StringWriter();
+        ConsoleApp app = new ConsoleApp(services, new BufferedReader(new StringReader("")), new PrintWriter(output));
+
+        assertTrue(app.runBatch(new BufferedReader(new StringReader(commands)), "alice"), output.toString());
+        Wallet wallet = services.getAuthService().getUsers().get("alice").getWallet();
+        assertEquals(100000, wallet.sumByCategory(null, LocalDate.MIN, LocalDate.MAX).get("Зарплата").getIncome());
+        assertEquals(25000, wallet.sumByCategory(null, LocalDate.of(2026, 2, 1), LocalDate.MAX).get("Еда").getExpense());
+        assertFalse(wallet.sumByCategory(null, LocalDate.MIN, LocalDate.of(2026, 1, 31)).containsKey("Еда"));
+        services.close();
+    }
+
+    @Test
+    void storeReportRequiresAdminAccess() {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        String commands = "доход Зарплата 1000 2026-01-01\nсводка\n";
+        StringWriter local = new StringWriter();
+        StringWriter admin = new StringWriter();
+
+        assertFalse(new ConsoleApp(services, new BufferedReader(new StringReader("")), new PrintWriter(local))
+                .runBatch(new BufferedReader(new StringReader(commands)), "alice"));
+        new ConsoleApp(services, new BufferedReader(new StringReader("1\nalice\npw\nсводка\nвыход\n")),
+                new PrintWriter(admin), ConsoleApp.Access.ADMIN).run();
+
+        assertTrue(local.toString().contains("Команда доступна только администратору"));
+        assertFalse(local.toString().contains("Общий баланс"));
+        assertTrue(admin.toString().contains("Общий баланс: 1000.00"), admin.toString());
+        services.close();
+    }
+
+    @Test
+    void statusReportsSaveCountersForPagedStore() {
+        AppServices services = AppServices.open(tempDir.resolve("store"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        services.getAuthService().register("bob", "pw");
+        services.getAuthService().saveAll();
+        StringWriter output = new StringWriter();
+        String session = "1\nalice\npw\nдоход Зарплата 100 2026-01-01\nстатус\nвыход\n";
+
+        new ConsoleApp(services, new BufferedReader(new StringReader(session)), new PrintWriter(output),
+                ConsoleApp.Access.ADMIN).run();
+
+        String text = output.toString();
+        assertTrue(text.contains("Пользователей: 2, с несохраненными изменениями: 0, сохранено пользователей с запуска: 3."),
+                text);
+        assertTrue(text.contains("Постраничное хранилище: загружено кошельков: 0, записано сегментов: 3, записей индекса: 2."),
+                text);
+        services.close();
+    }
+
+    @Test
+    void reportFileFormatFollowsExtension() throws Exception {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        Path csv = tempDir.resolve("report.csv");
+        Path json = tempDir.resolve("report.json");
+        Path text = tempDir.resolve("report.txt");
+        String commands = String.join("\n",
+                "доход Зарплата 1000 2026-01-01",
+                "расход \"Еда, кафе\" 200 2026-01-02",
+                "бюджет установить \"Еда, кафе\" 500",
+                "отчет",
+                "отчет файл \"" + csv + "\"",
+                "отчет файл \"" + json + "\"",
+                "отчет файл \"" + text + "\"",
+                "");
+        StringWriter output = new StringWriter();
+        ConsoleApp app = new ConsoleApp(services, new BufferedReader(new StringReader("")), new PrintWriter(output));
+
+        assertTrue(app.runBatch(new BufferedReader(new StringReader(commands)), "alice"), output.toString());
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals("section,name,amount,limit,remaining", rows.get(0));
+        assertTrue(rows.contains("total_income,,1000.00,,"));
+        assertTrue(rows.contains("expense,\"Еда, кафе\",200.00,,"));
+        assertTrue(rows.contains("budget,\"Еда, кафе\",200.00,500.00,300.00"));
+        JsonObject report = JsonParser.parseString(Files.readString(json)).getAsJsonObject();
+        assertEquals(new BigDecimal("1000.00"), report.get("totalIncome").getAsBigDecimal());
+        assertEquals(new BigDecimal("300.00"), report.getAsJsonObject("budgets")
+                .getAsJsonObject("Еда, кафе").get("remaining").getAsBigDecimal());
+        String saved = Files.readString(text);
+        assertTrue(saved.startsWith("Общий доход: 1000.00"));
+        assertTrue(saved.contains("Еда, кафе | 200.00"));
+        services.close();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.cli;
+
+import org.example.core.model.User;
+import org.example.infra.LoadProgressListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void servesConcurrentSessionsWithSeparateState() throws Exception {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        SessionServer server = new SessionServer(services, 0);
+        Thread acceptor = Thread.ofVirtual().start(server::serve);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> sessions = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                String login = "user" + i;
+                sessions.add(clients.submit(() -> talk(server.getPort(),
+                        "2", login, "pw", "доход Зарплата 100 2026-01-01", "отчет", "выход")));
+            }
+            for (Future<String> session : sessions) {
+                String output = session.get(30, TimeUnit.SECONDS);
+                assertTrue(output.contains("Пользователь зарегистрирован."));
+                assertTrue(output.contains("Общий доход: 100.00"));
+            }
+
+            String transfer = talk(server.getPort(), "1", "user0", "pw", "перевод user1 40", "отчет", "выход");
+            assertTrue(transfer.contains("Общие расходы: 40.00"));
+            String receiver = talk(server.getPort(), "1", "user1", "pw", "отчет", "выход");
+            assertTrue(receiver.contains("Общий доход: 140.00"));
+
+            assertEquals(18, server.getAcceptedCount());
+            User user1 = services.getAuthService().getUsers().get("user1");
+            assertEquals(14000, user1.getWallet().getBalance());
+        } finally {
+            clients.shutdown();
+            server.close();
+            acceptor.join(5000);
+        }
+
+        AppServices reopened = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        assertEquals(16, reopened.getAuthService().getUsers().size());
+        assertEquals(6000, reopened.getAuthService().getUsers().get("user0").getWallet().getBalance());
+        reopened.close();
+    }
+
+    @Test
+    void networkSessionsCannotTouchServerFiles() throws Exception {
+        AppServices services = AppServices.open(tempDir.resolve("users.json"), LoadProgressListener.NONE);
+        services.getAuthService().register("alice", "pw");
+        services.getAuthService().saveAll();
+        Path leaked = tempDir.resolve("leak.json");
+        Path statement = tempDir.resolve("statement.csv");
+        Files.writeString(statement, "date,amount,category\n2026-01-01,100,Еда\n");
+        SessionServer server = new SessionServer(services, 0);
+        Thread acceptor = Thread.ofVirtual().start(server::serve);
+        try {
+            String anonymous = talk(server.getPort(), "экспорт " + leaked, "3", leaked.toString(),
+                    "импорт", "4", "выход");
+            String user = talk(server.getPort(), "2", "mallory", "pw", "экспорт " + leaked,
+                    "импорт-csv " + statement, "отчет", "отчет файл " + leaked, "выход");
+
+            assertFalse(Files.exists(leaked));
+            assertTrue(anonymous.contains("Команда недоступна в сетевом сеансе"));
+            assertFalse(anonymous.contains("Файл для импорта JSON"));
+            assertTrue(user.contains("Команда недоступна в сетевом сеансе"));
+            assertEquals(0, services.getAuthService().getUsers().get("mallory").getWallet().getBalance());
+        } finally {
+            server.close();
+            acceptor.join(5000);
+        }
+    }
+
+    private static String talk(int port, String... lines) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                out.println(line);
+            }
+            StringBuilder output = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                output.append(buffer, 0, read);
+            }
+            return output.toString();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void parsesCommaAndDotRegardlessOfLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            for (Locale locale : new Locale[]{Locale.US, Locale.forLanguageTag("ru-RU"), Locale.GERMANY}) {
+                Locale.setDefault(locale);
+                assertEquals(25050, Money.parse("250,50"));
+                assertEquals(25050, Money.parse("250.50"));
+                assertEquals(-1205, Money.parse(" -12,05 "));
+                assertEquals("250.50", Money.format(25050));
+            }
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void rejectsMoreThanTwoFractionDigitsAndGrouping() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("1,005"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.234,50"));
+        assertEquals(100, Money.parse("1,000"));
+    }
+}
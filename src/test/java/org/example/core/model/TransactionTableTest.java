@@ -0,0 +1,87 @@
+package org.example.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTableTest {
+
+    @Test
+    void overwritingRowsReusesTextSlots() {
+        TransactionTable table = new TransactionTable();
+        table.add(new Transaction("tx-1", TransactionType.EXPENSE, "Еда", 100, "обед", "вчера", null));
+        int texts = table.textCount();
+        for (int i = 0; i < 10_000; i++) {
+            table.set(0, new Transaction("tx-" + i, TransactionType.EXPENSE, "Еда", i, "обед " + i,
+                    "день " + i, null));
+        }
+        assertEquals(texts, table.textCount());
+        assertEquals("tx-9999", table.id(0));
+        assertEquals("обед 9999", table.description(0));
+        assertEquals("день 9999", table.date(0));
+    }
+
+    @Test
+    void removedRowsAreCompactedOutOfTextPool() {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 5_000; i++) {
+            table.add(new Transaction("tx-" + i, TransactionType.INCOME, "Зарплата", i, "платёж " + i,
+                    i % 2 == 0 ? "2024-01-15" : "месяц " + i, null));
+        }
+        while (table.size() > 10) {
+            table.remove(0);
+        }
+        table.set(0, new Transaction(null, TransactionType.INCOME, "Зарплата", 1, "", null, null));
+        assertTrue(table.textCount() < 3_000, "text pool was not compacted: " + table.textCount());
+        for (int row = 1; row < table.size(); row++) {
+            int i = 4_990 + row;
+            assertEquals("tx-" + i, table.id(row));
+            assertEquals("платёж " + i, table.description(row));
+            assertEquals(i % 2 == 0 ? "2024-01-15" : "месяц " + i, table.date(row));
+        }
+    }
+
+    @Test
+    void frozenCopyKeepsRowsWhileTableChanges() {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 20; i++) {
+            table.add(new Transaction("tx-" + i, TransactionType.EXPENSE, "Еда", i, "обед " + i,
+                    i % 2 == 0 ? "2026-01-01" : "день " + i, "кафе"));
+        }
+        TransactionTable frozen = table.freeze();
+
+        table.set(0, new Transaction("changed", TransactionType.INCOME, "Зарплата", 999, "новое", "вчера", null));
+        table.remove(1);
+        for (int i = 0; i < 40; i++) {
+            table.add(new Transaction("new-" + i, TransactionType.INCOME, "Бонус", i, "бонус", "когда-то", null));
+        }
+
+        assertEquals(20, frozen.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("tx-" + i, frozen.id(i));
+            assertEquals(TransactionType.EXPENSE, frozen.type(i));
+            assertEquals("Еда", frozen.category(i));
+            assertEquals(i, frozen.amount(i));
+            assertEquals("обед " + i, frozen.description(i));
+            assertEquals(i % 2 == 0 ? "2026-01-01" : "день " + i, frozen.date(i));
+            assertEquals("кафе", frozen.counterparty(i));
+        }
+        assertEquals("changed", table.id(0));
+        assertEquals("tx-2", table.id(1));
+        assertEquals(59, table.size());
+    }
+
+    @Test
+    void appendAfterFreezeDoesNotShareTextPool() {
+        TransactionTable table = new TransactionTable();
+        table.add(new Transaction("tx-0", TransactionType.INCOME, "Зарплата", 1, "первая", null, null));
+        TransactionTable frozen = table.freeze();
+        int texts = frozen.textCount();
+
+        table.add(new Transaction("tx-1", TransactionType.INCOME, "Зарплата", 2, "вторая", null, null));
+
+        assertEquals(texts, frozen.textCount());
+        assertEquals(1, frozen.size());
+        assertEquals("вторая", table.description(1));
+    }
+}
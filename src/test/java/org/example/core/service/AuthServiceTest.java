@@ -1,11 +1,19 @@
 package org.example.core.service;
 
 import org.example.core.model.User;
+import org.example.core.port.MutationListener;
 import org.example.core.port.UserRepository;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +43,31 @@ class AuthServiceTest {
         assertFalse(second.isSuccess());
     }
 
+    @Test
+    void concurrentRegistrationOfSameLoginSucceedsOnce() throws Exception {
+        AuthService service = new AuthService(new InMemoryUserRepository());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return service.register("Shared", "pass").isSuccess();
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(10, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, succeeded);
+        assertEquals(1, service.getUsers().size());
+    }
+
     @Test
     void loginWrongPasswordFails() {
         InMemoryUserRepository repo = new InMemoryUserRepository();
@@ -59,6 +92,59 @@ class AuthServiceTest {
         assertFalse(service.register("user", "").isSuccess());
     }
 
+    @Test
+    void saveAllFlushesOnlyDirtyUsers() {
+        AuthService service = new AuthService(new InMemoryUserRepository());
+        User user1 = service.register("user1", "pass").getData();
+        service.register("user2", "pass");
+        assertEquals(0, service.countDirtyUsers());
+        assertEquals(2, service.getFlushedUserCount());
+
+        new FinanceService().addIncome(user1, "Salary", 100, "2026-01-01", "");
+        assertEquals(1, service.countDirtyUsers());
+        service.saveAll();
+        assertEquals(0, service.countDirtyUsers());
+        assertEquals(3, service.getFlushedUserCount());
+    }
+
+    @Test
+    void saveAllDoesNotHoldWalletLocksWhileCommittingJournal() throws Exception {
+        WalletLocks locks = new WalletLocks();
+        FinanceService finance = new FinanceService(MutationListener.NONE, locks);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        User[] user = new User[1];
+        boolean[] writerFinished = {false};
+        UserRepository journal = new InMemoryUserRepository() {
+            @Override
+            public boolean readsWalletsOnSave() {
+                return false;
+            }
+
+            @Override
+            public void saveAll(Map<String, User> users) {
+                if (user[0] == null) {
+                    return;
+                }
+                Future<?> writer = executor.submit(() -> finance.addIncome(user[0], "Salary", 50, "2026-01-02", ""));
+                try {
+                    writer.get(5, TimeUnit.SECONDS);
+                    writerFinished[0] = true;
+                } catch (Exception e) {
+                    writer.cancel(true);
+                }
+            }
+        };
+        AuthService service = new AuthService(journal, MutationListener.NONE, locks);
+        user[0] = service.register("user1", "pass").getData();
+
+        service.saveAll();
+
+        executor.shutdownNow();
+        assertTrue(writerFinished[0]);
+        assertEquals(50, user[0].getWallet().getBalance());
+        assertEquals(1, service.countDirtyUsers());
+    }
+
     private static class InMemoryUserRepository implements UserRepository {
         private final Map<String, User> data = new HashMap<>();
 
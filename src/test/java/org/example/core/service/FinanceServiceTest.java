@@ -1,12 +1,25 @@
 package org.example.core.service;
 
+import org.example.core.model.Money;
 import org.example.core.model.Transaction;
 import org.example.core.model.TransactionType;
 import org.example.core.model.User;
+import org.example.core.port.MutationListener;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -180,4 +193,269 @@ class FinanceServiceTest {
         ReportData report = service.buildReport(user, null, null, null, new ArrayList<>(), new ArrayList<>());
         assertEquals(300, report.getBudgets().get("Food").getRemaining(), 0.001);
     }
+
+    @Test
+    void categoryTotalsFollowRenameAndRemove() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        service.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        service.setBudget(user, "Meals", 100);
+        service.addExpense(user, "Food", 90, "2026-01-02", "");
+        service.renameCategory(user, "food", "Meals");
+
+        ServiceResult<Transaction> result = service.addExpense(user, "meals", 20, "2026-01-03", "");
+        assertTrue(result.getMessage().contains("Превышен лимит бюджета по категории: Meals"));
+        assertEquals(110, user.getWallet().getCategoryExpense("Meals"), 0.001);
+        assertEquals(0, user.getWallet().getCategoryExpense("Food"), 0.001);
+
+        service.removeCategory(user, "Meals");
+        assertEquals(0, user.getWallet().getTotalExpense(), 0.001);
+        assertEquals(1000, user.getWallet().getTotalIncome(), 0.001);
+    }
+
+    @Test
+    void categoryLookupIsCaseInsensitiveAfterEdits() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        service.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        service.addExpense(user, "Food", 10, "2026-01-02", "");
+        service.addExpense(user, "Taxi", 20, "2026-01-03", "");
+        service.addExpense(user, "FOOD", 30, "2026-01-04", "");
+        service.setBudget(user, "Gym", 50);
+
+        assertEquals(Set.of("Salary", "Food", "Taxi", "Gym"), Set.copyOf(service.listCategories(user)));
+        assertEquals("Food", user.getWallet().getTransactions().get(3).getCategory());
+
+        service.removeCategory(user, "taxi");
+        service.addExpense(user, "gym", 5, "2026-01-05", "");
+        assertEquals("Gym", user.getWallet().getTransactions().get(3).getCategory());
+
+        List<String> missing = new ArrayList<>();
+        ReportData report = service.buildReport(user, List.of("food", "gym", "Cinema"), null, null, null, missing);
+        assertEquals(40, report.getExpenseByCategory().get("Food"), 0.001);
+        assertEquals(5, report.getExpenseByCategory().get("Gym"), 0.001);
+        assertEquals(List.of("Cinema"), missing);
+    }
+
+    @Test
+    void periodReportUsesDateRangeAndKeepsUndatedRows() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        transactions.add(new Transaction("1", TransactionType.INCOME, "Salary", 1000, "", "2026-02-01", null));
+        transactions.add(new Transaction("2", TransactionType.EXPENSE, "Food", 10, "", "2025-12-31", null));
+        transactions.add(new Transaction("3", TransactionType.EXPENSE, "Food", 20, "", "2026-01-31", null));
+        transactions.add(new Transaction("4", TransactionType.EXPENSE, "Food", 40, "", "2026-01-01", null));
+        transactions.add(new Transaction("5", TransactionType.EXPENSE, "Taxi", 5, "", "unknown", null));
+
+        ReportData report = service.buildReport(user, null, "2026-01-01", "2026-01-31", null, null);
+        assertEquals(0, report.getTotalIncome(), 0.001);
+        assertEquals(60, report.getExpenseByCategory().get("Food"), 0.001);
+        assertEquals(5, report.getExpenseByCategory().get("Taxi"), 0.001);
+
+        transactions.add(new Transaction("6", TransactionType.EXPENSE, "Food", 7, "", "2026-01-15", null));
+        ReportData updated = service.buildReport(user, List.of("food"), "2026-01-10", null, null, null);
+        assertEquals(27, updated.getTotalExpense(), 0.001);
+        assertEquals(0, updated.getTotalIncome(), 0.001);
+    }
+
+    @Test
+    void monthlyRollupsMatchFullScanForPeriodReports() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        Random random = new Random(7);
+        String[] categories = {"Food", "food", "Taxi", "Rent", "Salary"};
+        for (int i = 0; i < 600; i++) {
+            TransactionType type = random.nextInt(3) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            String date = i % 97 == 0 ? "unknown" : LocalDate.of(2024, 1, 1).plusDays(random.nextInt(1100)).toString();
+            transactions.add(new Transaction(String.valueOf(i), type, categories[random.nextInt(categories.length)],
+                    1 + random.nextInt(10_000), "", date, null));
+        }
+        String[][] periods = {{"2024-01-01", "2026-12-31"}, {"2024-02-15", "2025-11-03"}, {"2024-03-01", "2024-03-31"},
+                {"2025-05-10", "2025-05-20"}, {null, "2025-06-30"}, {"2024-07-31", null}, {"2025-01-01", "2024-12-31"}};
+
+        assertPeriodReportsMatch(service, user, periods);
+        transactions.add(new Transaction("late", TransactionType.EXPENSE, "Taxi", 333, "", "2025-03-15", null));
+        transactions.remove(5);
+        transactions.set(10, new Transaction("moved", TransactionType.INCOME, "Rent", 77, "", "2024-09-30", null));
+        assertTrue(service.renameCategory(user, "food", "Groceries").isSuccess());
+        assertTrue(service.removeCategory(user, "Taxi").isSuccess());
+        assertPeriodReportsMatch(service, user, periods);
+    }
+
+    private static void assertPeriodReportsMatch(FinanceService service, User user, String[][] periods) {
+        for (String[] period : periods) {
+            for (List<String> filter : Arrays.asList(null, List.of("groceries", "FOOD", "Rent"))) {
+                ReportData report = service.buildReport(user, filter, period[0], period[1], null, null);
+                Map<String, Long> income = new HashMap<>();
+                Map<String, Long> expense = new HashMap<>();
+                for (Transaction tx : user.getWallet().getTransactions()) {
+                    boolean dated = !"unknown".equals(tx.getDate());
+                    if (dated && (period[0] != null && tx.getDate().compareTo(period[0]) < 0
+                            || period[1] != null && tx.getDate().compareTo(period[1]) > 0)) {
+                        continue;
+                    }
+                    if (filter != null && filter.stream().noneMatch(tx.getCategory()::equalsIgnoreCase)) {
+                        continue;
+                    }
+                    (tx.getType() == TransactionType.INCOME ? income : expense)
+                            .merge(tx.getCategory(), tx.getAmount(), Long::sum);
+                }
+                assertEquals(income, report.getIncomeByCategory(), Arrays.toString(period) + " " + filter);
+                assertEquals(expense, report.getExpenseByCategory(), Arrays.toString(period) + " " + filter);
+            }
+        }
+    }
+
+    @Test
+    void parallelReportMatchesSequentialReport() {
+        FinanceService sequential = new FinanceService(MutationListener.NONE, 0, Integer.MAX_VALUE);
+        FinanceService parallel = new FinanceService(MutationListener.NONE, 0, 1);
+        User user = new User("u", "hash");
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            TransactionType type = random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE;
+            transactions.add(new Transaction(String.valueOf(i), type, "C" + random.nextInt(40),
+                    1 + random.nextInt(1_000_000), "", "2026-01-01", null));
+        }
+        user.getWallet().setBudget("C1", 5_000_000);
+
+        for (List<String> filter : Arrays.asList(null, List.of("C1", "C2", "C3"))) {
+            ReportData expected = sequential.buildReport(user, filter, null, null, null, null);
+            ReportData actual = parallel.buildReport(user, filter, null, null, null, null);
+            assertEquals(expected.getTotalIncome(), actual.getTotalIncome());
+            assertEquals(expected.getTotalExpense(), actual.getTotalExpense());
+            assertEquals(List.copyOf(expected.getIncomeByCategory().entrySet()),
+                    List.copyOf(actual.getIncomeByCategory().entrySet()));
+            assertEquals(List.copyOf(expected.getExpenseByCategory().entrySet()),
+                    List.copyOf(actual.getExpenseByCategory().entrySet()));
+            assertEquals(expected.getBudgets().get("C1").getSpent(), actual.getBudgets().get("C1").getSpent());
+            assertEquals(expected.getWarnings(), actual.getWarnings());
+        }
+    }
+
+    @Test
+    void amountsAreSummedExactlyInMinorUnits() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        for (int i = 0; i < 10; i++) {
+            service.addIncome(user, "Salary", Money.parse("0.1"), "2026-01-01", "");
+        }
+        service.addExpense(user, "Food", Money.parse("0,3"), "2026-01-02", "");
+
+        assertEquals(Money.parse("0.70"), user.getWallet().getBalance());
+        ReportData report = service.buildReport(user, null, null, null, null, null);
+        assertEquals(100, report.getTotalIncome());
+        assertEquals("0.30", Money.format(report.getExpenseByCategory().get("Food")));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.005"));
+    }
+
+    @Test
+    void concurrentTransfersKeepBalancesConsistent() throws Exception {
+        FinanceService service = new FinanceService();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User user = new User("user" + i, "hash");
+            service.addIncome(user, "Salary", 100_000, "2026-01-01", "");
+            users.add(user);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int seed = thread;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 2000; i++) {
+                    User sender = users.get(random.nextInt(users.size()));
+                    User receiver = users.get(random.nextInt(users.size()));
+                    if (seed == 0) {
+                        service.buildReport(sender, List.of("Перевод"), "2026-01-01", null, null, null);
+                    } else {
+                        service.transfer(sender, receiver, 1 + random.nextInt(500), "2026-01-02", "");
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long total = 0;
+        for (User user : users) {
+            ReportData report = service.buildReport(user, null, null, null, null, null);
+            assertEquals(report.getTotalIncome() - report.getTotalExpense(), user.getWallet().getBalance());
+            assertTrue(user.getWallet().getBalance() >= 0);
+            total += user.getWallet().getBalance();
+        }
+        assertEquals(400_000, total);
+    }
+
+    @Test
+    void importTransactionsAppliesValidRecordsAndCollectsErrors() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        service.addIncome(user, "Зарплата", 1000, "2026-01-01", "");
+        service.setBudget(user, "Еда", 500);
+
+        ImportResult result = service.importTransactions(user, Stream.of(
+                ImportRecord.expense("еда", 300, "2026-01-02", " обед "),
+                ImportRecord.expense("Еда", 150, "2026-01-03", ""),
+                ImportRecord.expense("Такси", 0, "2026-01-03", ""),
+                ImportRecord.income(" ", 10, "2026-01-03", ""),
+                ImportRecord.expense("Такси", 100, "2026-13-01", ""),
+                ImportRecord.expense("Такси", 5000, "2026-01-04", ""),
+                ImportRecord.income("Премия", 200, null, ""),
+                new ImportRecord(TransactionType.TRANSFER_IN, "Перевод", 10, "2026-01-04", "")));
+
+        assertEquals(3, result.getImported());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 7L),
+                result.getErrors().stream().map(ImportError::getIndex).toList());
+        assertEquals("Недостаточно средств. Баланс не может быть ниже 0.", result.getErrors().get(3).getMessage());
+        assertEquals(750, user.getWallet().getBalance());
+        assertEquals(Set.of("Зарплата", "Еда", "Премия"), service.listCategories(user));
+        assertEquals("обед", user.getWallet().getTransactions().get(1).getDescription());
+        assertEquals("Потрачено 80% бюджета по категории: Еда", result.getNotifications());
+    }
+
+    @Test
+    void reportCacheReturnsSameReportUntilWalletChanges() {
+        FinanceService service = new FinanceService();
+        User user = new User("u", "hash");
+        service.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        service.addExpense(user, "Food", 200, "2026-01-02", "");
+        ReportCache cache = service.getReportCache();
+
+        List<String> missing = new ArrayList<>();
+        ReportData first = service.buildReport(user, List.of("Food", "Gym"), null, null, null, missing);
+        List<String> missingAgain = new ArrayList<>();
+        ReportData second = service.buildReport(user, List.of(" Gym", "Food"), null, null, null, missingAgain);
+        assertSame(first, second);
+        assertEquals(List.of("Gym"), missingAgain);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        service.addExpense(user, "Food", 50, "2026-01-03", "");
+        ReportData updated = service.buildReport(user, List.of("Food", "Gym"), null, null, null, new ArrayList<>());
+        assertNotSame(first, updated);
+        assertEquals(250, updated.getTotalExpense());
+        assertEquals(2, cache.getMissCount());
+        assertThrows(UnsupportedOperationException.class, () -> updated.getExpenseByCategory().put("x", 1L));
+    }
+
+    @Test
+    void reportCacheEvictsLeastRecentlyUsedEntriesOverWeightLimit() {
+        ReportCache cache = new ReportCache(1000);
+        User user = new User("u", "hash");
+        ReportData report = new ReportData(0, 0, Map.of("a", 1L), Map.of(), Map.of(), List.of());
+        for (int i = 0; i < 5; i++) {
+            cache.put(new ReportCache.Key(user, null, "2026-01-0" + (i + 1), null), user.getWallet(), 0, report, List.of());
+        }
+        assertEquals(2, cache.size());
+        assertTrue(cache.getWeight() <= 1000);
+        assertNull(cache.get(new ReportCache.Key(user, null, "2026-01-01", null), user.getWallet()));
+        assertNotNull(cache.get(new ReportCache.Key(user, null, "2026-01-05", null), user.getWallet()));
+    }
 }
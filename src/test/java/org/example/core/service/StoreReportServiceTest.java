@@ -0,0 +1,47 @@
+package org.example.core.service;
+
+import org.example.core.model.User;
+import org.example.infra.PagedUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreReportServiceTest {
+
+    @Test
+    void aggregatesAllUsersWithoutPagingInWallets(@TempDir Path tempDir) {
+        Path dir = tempDir.resolve("store");
+        AuthService auth = new AuthService(new PagedUserRepository(dir));
+        FinanceService finance = new FinanceService();
+        for (int i = 0; i < 20; i++) {
+            User user = auth.register("user" + i, "pass").getData();
+            finance.addIncome(user, "Salary", 1000, "2026-01-01", "");
+            finance.addExpense(user, i % 2 == 0 ? "Food" : "Taxi", 100, "2026-01-02", "");
+        }
+        User sender = auth.getUsers().get("user0");
+        assertTrue(finance.transfer(sender, auth.getUsers().get("user1"), 50, "2026-02-10", "").isSuccess());
+        assertTrue(finance.transfer(sender, auth.getUsers().get("user2"), 70, "2026-03-01", "").isSuccess());
+        auth.saveAll();
+
+        PagedUserRepository repo = new PagedUserRepository(dir);
+        AuthService reopened = new AuthService(repo);
+        User touched = reopened.getUsers().get("user5");
+        finance.addExpense(touched, "Food", 200, "2026-01-03", "");
+
+        StoreReport report = new StoreReportService(finance, 4).build(reopened.getUsers().values());
+        assertEquals(20, report.getUsers());
+        assertEquals(19, report.getDetachedWallets());
+        assertEquals(20 * 900 - 200, report.getTotalBalance());
+        assertEquals(20_000, report.getIncomeByCategory().get("Salary"));
+        assertEquals(1200, report.getExpenseByCategory().get("Food"));
+        assertEquals(1000, report.getExpenseByCategory().get("Taxi"));
+        assertEquals(50, report.getTransfersByMonth().get(YearMonth.of(2026, 2)));
+        assertEquals(70, report.getTransfersByMonth().get(YearMonth.of(2026, 3)));
+        assertEquals(20, repo.getPagedInCount());
+        assertFalse(reopened.getUsers().get("user7").isWalletLoaded());
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.service.FinanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryUserRepositoryTest {
+
+    @Test
+    void saveAndLoadPreservesWallets(@TempDir Path tempDir) {
+        FinanceService finance = new FinanceService();
+        User sender = new User("Sender", "hash1");
+        User receiver = new User("receiver", "hash2");
+        finance.addIncome(sender, "Зарплата", 100000, "2026-01-01", "аванс");
+        finance.addExpense(sender, "Food", 15050, "2026-01-02", "");
+        finance.transfer(sender, receiver, 200, "2026-01-03", "долг");
+        finance.setBudget(sender, "Food", 400);
+        sender.getWallet().getTransactions().add(new Transaction(
+                "legacy-id", TransactionType.INCOME, "Food", 1, null, "2026-1-5", null));
+        Map<String, User> users = new HashMap<>();
+        users.put("sender", sender);
+        users.put("receiver", receiver);
+
+        Path file = tempDir.resolve("users.bin");
+        new BinaryUserRepository(file).saveAll(users);
+        Map<String, User> loaded = new BinaryUserRepository(file).loadAll();
+
+        assertEquals(2, loaded.size());
+        User restored = loaded.get("sender");
+        assertEquals("hash1", restored.getPasswordHash());
+        assertEquals(sender.getWallet().getBalance(), restored.getWallet().getBalance(), 0.001);
+        assertEquals(400, restored.getWallet().getBudgets().get("Food"), 0.001);
+        assertEquals(4, restored.getWallet().getTransactions().size());
+        for (int i = 0; i < 4; i++) {
+            Transaction expected = sender.getWallet().getTransactions().get(i);
+            Transaction actual = restored.getWallet().getTransactions().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getAmount(), actual.getAmount(), 0.001);
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getDate(), actual.getDate());
+            assertEquals(expected.getCounterparty(), actual.getCounterparty());
+        }
+    }
+
+    @Test
+    void convertsBetweenJsonAndBinary(@TempDir Path tempDir) throws IOException {
+        FinanceService finance = new FinanceService();
+        User user = new User("user1", "hash");
+        finance.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        Path json = tempDir.resolve("users.json");
+        new JsonUserRepository(json).saveAll(Map.of("user1", user));
+
+        Path binary = tempDir.resolve("users.bin");
+        assertEquals(1, StorageConverter.jsonToBinary(json, binary));
+        assertTrue(Files.size(binary) < Files.size(json));
+        Path back = tempDir.resolve("back.json");
+        assertEquals(1, StorageConverter.binaryToJson(binary, back));
+
+        User restored = new JsonUserRepository(back).loadAll().get("user1");
+        assertEquals(1000, restored.getWallet().getBalance(), 0.001);
+        assertEquals("Salary", restored.getWallet().getTransactions().get(0).getCategory());
+    }
+
+    @Test
+    void corruptStoreFailsInsteadOfLoadingEmpty(@TempDir Path tempDir) throws IOException {
+        User user = new User("user1", "hash");
+        new FinanceService().addIncome(user, "Зарплата", 100000, "2026-01-01", "аванс");
+        Path file = tempDir.resolve("users.bin");
+        new BinaryUserRepository(file).saveAll(Map.of("user1", user));
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length / 2));
+
+        assertThrows(UncheckedIOException.class, () -> new BinaryUserRepository(file).loadAll());
+        assertTrue(new BinaryUserRepository(tempDir.resolve("missing.bin")).loadAll().isEmpty());
+        Path directory = Files.createDirectory(tempDir.resolve("store.bin"));
+        assertThrows(UncheckedIOException.class, () -> new BinaryUserRepository(directory).saveAll(Map.of("user1", user)));
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.service.FinanceService;
+import org.example.core.service.ImportError;
+import org.example.core.service.ImportResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvStatementImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void importsLargeStatementInOrderWithMappedColumns() throws Exception {
+        Path file = tempDir.resolve("statement.csv");
+        StringBuilder csv = new StringBuilder("Описание;Дата операции;Сумма;Категория\n");
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        int rows = 10_000;
+        for (int i = 0; i < rows; i++) {
+            String date = String.format("%02d.%02d.%d", start.plusDays(i % 365).getDayOfMonth(),
+                    start.plusDays(i % 365).getMonthValue(), start.plusDays(i % 365).getYear());
+            String amount = i % 2 == 0 ? "1 000,50" : "-200";
+            String category = i % 2 == 0 ? "Зарплата" : "\"Еда; кафе\"";
+            csv.append("операция ").append(i).append(';').append(date).append(';')
+                    .append(amount).append(';').append(category).append('\n');
+        }
+        csv.append("битая;01.01.2026;abc;Еда\n");
+        csv.append("битая;2026-01-01;10;Еда\n");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        User user = new User("u", "hash");
+        CsvMapping mapping = new CsvMapping(';', true, "дата операции", "3", "категория", "описание",
+                "dd.MM.yyyy", "Прочее");
+
+        ImportResult result = new CsvStatementImporter(new FinanceService(), mapping, 4).importFile(user, file);
+
+        assertEquals(rows, result.getImported());
+        assertEquals(List.of((long) rows + 2, (long) rows + 3),
+                result.getErrors().stream().map(ImportError::getIndex).toList());
+        assertEquals("Некорректная сумма.", result.getErrors().get(0).getMessage());
+        assertEquals((rows / 2) * (100050L - 20000L), user.getWallet().getBalance());
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        for (int i = 0; i < rows; i++) {
+            assertEquals("операция " + i, transactions.get(i).getDescription());
+        }
+        Transaction expense = transactions.get(1);
+        assertEquals(TransactionType.EXPENSE, expense.getType());
+        assertEquals("Еда; кафе", expense.getCategory());
+        assertEquals("2026-01-02", expense.getDate());
+    }
+
+    @Test
+    void reportsOverdraftPerLineAndRejectsUnknownColumn() throws Exception {
+        Path file = tempDir.resolve("statement.csv");
+        Files.writeString(file, "date,amount\n2026-01-01,100\n2026-01-02,-150\n2026-01-03,-40\n");
+        User user = new User("u", "hash");
+
+        ImportResult result = new CsvStatementImporter(new FinanceService(), CsvMapping.defaults())
+                .importFile(user, file);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getIndex());
+        assertEquals(6000, user.getWallet().getBalance());
+        assertEquals("Прочее", user.getWallet().getTransactions().get(0).getCategory());
+
+        CsvMapping missing = new CsvMapping(',', true, "day", "amount", null, null, null, "Прочее");
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvStatementImporter(new FinanceService(), missing).importFile(user, file));
+    }
+
+    @Test
+    void keepsQuotedLineBreaksInsideOneRecord() throws Exception {
+        Path file = tempDir.resolve("statement.csv");
+        Files.writeString(file, "date,amount,category,description\n"
+                + "2026-01-01,100,Зарплата,\"аванс\nза январь\"\n"
+                + "2026-01-02,-5,Еда,\"обед \"\"у дома\"\"\n\nи кофе\"\n"
+                + "2026-01-03,abc,Еда,битая\n");
+        User user = new User("u", "hash");
+
+        ImportResult result = new CsvStatementImporter(new FinanceService(), CsvMapping.defaults())
+                .importFile(user, file);
+
+        assertEquals(2, result.getImported());
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        assertEquals("аванс\nза январь", transactions.get(0).getDescription());
+        assertEquals("обед \"у дома\"\n\nи кофе", transactions.get(1).getDescription());
+        assertEquals(List.of(7L), result.getErrors().stream().map(ImportError::getIndex).toList());
+    }
+
+    @Test
+    void notifiesAfterLastChunkAndCapsErrorList() throws Exception {
+        Path file = tempDir.resolve("statement.csv");
+        StringBuilder csv = new StringBuilder("date,amount,category\n2026-01-01,100000,Зарплата\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append("2026-01-02,-1,Еда\n");
+        }
+        for (int i = 0; i < 5000; i++) {
+            csv.append("2026-01-03,abc,Еда\n");
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        User user = new User("u", "hash");
+        FinanceService finance = new FinanceService();
+        finance.setBudget(user, "Еда", 1000);
+
+        ImportResult result = new CsvStatementImporter(finance, CsvMapping.defaults(), 2).importFile(user, file);
+
+        assertEquals(5001, result.getImported());
+        assertEquals(5000, result.getErrorCount());
+        assertEquals(1000, result.getErrors().size());
+        assertEquals(5003, result.getErrors().get(0).getIndex());
+        assertTrue(result.hasErrors());
+        assertTrue(result.getNotifications().contains("Превышен лимит бюджета по категории: Еда"),
+                result.getNotifications());
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledUserRepositoryTest {
+
+    @Test
+    void replaysMutationsOverSnapshot(@TempDir Path tempDir) {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        AuthService auth = new AuthService(repo, repo);
+        FinanceService finance = new FinanceService(repo);
+
+        User user1 = auth.register("user1", "pass").getData();
+        User user2 = auth.register("user2", "pass").getData();
+        finance.addIncome(user1, "Salary", 1000, "2026-01-01", "");
+        finance.addExpense(user1, "Food", 200, "2026-01-02", "");
+        finance.setBudget(user1, "Food", 500);
+        finance.transfer(user1, user2, 300, "2026-01-03", "");
+        finance.renameCategory(user1, "Food", "Meals");
+        auth.saveAll();
+        auth.close();
+
+        assertFalse(Files.exists(snapshot));
+        Map<String, User> loaded = new JournaledUserRepository(snapshot, journal).loadAll();
+        assertEquals(2, loaded.size());
+        User restored = loaded.get("user1");
+        assertEquals(500, restored.getWallet().getBalance(), 0.001);
+        assertEquals(3, restored.getWallet().getTransactions().size());
+        assertEquals("Meals", restored.getWallet().getTransactions().get(1).getCategory());
+        assertEquals(500, restored.getWallet().getBudgets().get("Meals"), 0.001);
+        assertEquals(300, loaded.get("user2").getWallet().getBalance(), 0.001);
+    }
+
+    @Test
+    void ignoresTornTailRecord(@TempDir Path tempDir) throws IOException {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        AuthService auth = new AuthService(repo, repo);
+        FinanceService finance = new FinanceService(repo);
+        User user = auth.register("user1", "pass").getData();
+        finance.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        auth.saveAll();
+        finance.addIncome(user, "Bonus", 50, "2026-01-02", "");
+        auth.close();
+
+        Path segment = JournalFormat.segmentPath(journal, 0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        JournaledUserRepository reopened = new JournaledUserRepository(snapshot, journal);
+        AuthService restored = new AuthService(reopened, reopened);
+        assertEquals(1000, restored.getUsers().get("user1").getWallet().getBalance(), 0.001);
+
+        new FinanceService(reopened).addIncome(restored.getUsers().get("user1"), "Bonus", 70, "2026-01-03", "");
+        restored.close();
+        Map<String, User> loaded = new JournaledUserRepository(snapshot, journal).loadAll();
+        assertEquals(1070, loaded.get("user1").getWallet().getBalance(), 0.001);
+    }
+
+    @Test
+    void checkpointFoldsJournalIntoSnapshotInBackground(@TempDir Path tempDir) {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal, 1, 0, Long.MAX_VALUE, 3);
+        AuthService auth = new AuthService(repo, repo);
+        FinanceService finance = new FinanceService(repo);
+        User user = auth.register("user1", "pass").getData();
+        finance.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        finance.addExpense(user, "Food", 100, "2026-01-02", "");
+        auth.saveAll();
+        repo.getCheckpointer().await();
+
+        assertEquals(1, repo.getCheckpointer().getCompletedCount());
+        assertEquals(1, repo.getGeneration());
+        assertTrue(Files.exists(snapshot));
+        assertFalse(Files.exists(JournalFormat.segmentPath(journal, 0)));
+
+        finance.addExpense(user, "Food", 50, "2026-01-03", "");
+        auth.close();
+
+        Map<String, User> loaded = new JournaledUserRepository(snapshot, journal).loadAll();
+        assertEquals(850, loaded.get("user1").getWallet().getBalance(), 0.001);
+        assertEquals(3, loaded.get("user1").getWallet().getTransactions().size());
+    }
+
+    @Test
+    void failsInsteadOfDroppingRecordsWhenJournalCannotBeOpened(@TempDir Path tempDir) throws IOException {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        Files.writeString(journal, "not a directory");
+
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        assertThrows(UncheckedIOException.class, repo::loadAll);
+        repo.userRegistered(new User("user1", "hash"));
+        assertThrows(UncheckedIOException.class, () -> repo.saveAll(Map.of()));
+    }
+
+    @Test
+    void unexpectedSegmentHeaderFailsInsteadOfTruncatingJournal(@TempDir Path tempDir) throws IOException {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        AuthService auth = new AuthService(repo, repo);
+        User user = auth.register("user1", "pass").getData();
+        new FinanceService(repo).addIncome(user, "Salary", 1000, "2026-01-01", "");
+        auth.saveAll();
+        auth.close();
+        Path segment = JournalFormat.segmentPath(journal, 0);
+        byte[] content = Files.readAllBytes(segment);
+        content[0] ^= 1;
+        Files.write(segment, content);
+
+        assertThrows(UncheckedIOException.class, () -> new JournaledUserRepository(snapshot, journal).loadAll());
+        assertEquals(content.length, Files.size(segment));
+    }
+}
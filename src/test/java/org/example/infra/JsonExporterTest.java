@@ -0,0 +1,84 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonExporterTest {
+
+    @Test
+    void exportsFilteredCompactGzipAndFullPrettyStore(@TempDir Path tempDir) throws Exception {
+        FinanceService finance = new FinanceService();
+        User alice = new User("Alice", "hash-a");
+        User bob = new User("bob", "hash-b");
+        finance.addIncome(alice, "Зарплата", 10000, "2026-01-01", "");
+        finance.addExpense(alice, "Еда", 300, "2026-02-10", "");
+        finance.addExpense(alice, "Такси", 200, "2026-03-05", "");
+        finance.setBudget(alice, "Еда", 1000);
+        finance.transfer(alice, bob, 500, "2026-02-15", "");
+        alice.getWallet().addTransaction(new Transaction("undated", TransactionType.EXPENSE, "Еда", 0, "",
+                "unknown", null));
+        List<User> users = List.of(alice, bob);
+        JsonExporter exporter = new JsonExporter(finance);
+
+        Path full = tempDir.resolve("full.json");
+        JsonExporter.Summary all = exporter.export(users, full, JsonExporter.Options.defaults());
+        assertEquals(2, all.users());
+        assertEquals(6, all.transactions());
+        Map<String, User> loaded = new JsonUserRepository(full).loadAll();
+        assertEquals(9000, loaded.get("alice").getWallet().getBalance());
+        assertEquals(500, loaded.get("bob").getWallet().getBalance());
+        assertTrue(Files.readString(full).contains("\n  "));
+
+        Path partial = tempDir.resolve("partial.json.gz");
+        JsonExporter.Summary february = exporter.export(users, partial, new JsonExporter.Options(false, true,
+                Set.of("alice"), LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)));
+        assertEquals(1, february.users());
+        assertEquals(2, february.transactions());
+        Map<String, User> read = new HashMap<>();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(partial));
+             UserJsonReader reader = new UserJsonReader(in, LoadProgressListener.NONE)) {
+            reader.readAll(user -> read.put(user.getLogin(), user));
+        }
+        assertEquals(Set.of("Alice"), read.keySet());
+        assertEquals(-800, read.get("Alice").getWallet().getBalance());
+        assertEquals(2, read.get("Alice").getWallet().getTransactions().size());
+        assertEquals(1000, read.get("Alice").getWallet().getBudgets().get("Еда"));
+    }
+
+    @Test
+    void exportDoesNotPageInWalletsOfPagedStore(@TempDir Path tempDir) throws Exception {
+        Path dir = tempDir.resolve("store");
+        AuthService auth = new AuthService(new PagedUserRepository(dir));
+        FinanceService finance = new FinanceService();
+        for (int i = 0; i < 5; i++) {
+            finance.addIncome(auth.register("user" + i, "pass").getData(), "Salary", 1000, "2026-01-01", "");
+        }
+        auth.saveAll();
+
+        AuthService reopened = new AuthService(new PagedUserRepository(dir));
+        Path target = tempDir.resolve("paged.json");
+        JsonExporter.Summary summary = new JsonExporter(finance).export(reopened.getUsers().values(), target,
+                JsonExporter.Options.defaults());
+
+        assertEquals(5, summary.transactions());
+        assertTrue(reopened.getUsers().values().stream().noneMatch(User::isWalletLoaded));
+        assertEquals(1000, new JsonUserRepository(target).loadAll().get("user3").getWallet().getBalance());
+    }
+}
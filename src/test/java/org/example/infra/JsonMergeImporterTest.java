@@ -0,0 +1,108 @@
+package org.example.infra;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.model.Wallet;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.example.core.service.MergeResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMergeImporterTest {
+
+    @Test
+    void mergesByLoginAndTransactionIdWithoutReplacingStore(@TempDir Path tempDir) throws Exception {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        AuthService auth = new AuthService(repo, repo);
+        FinanceService finance = new FinanceService(repo);
+        User alice = auth.register("alice", "pass").getData();
+        auth.register("bob", "pass");
+        finance.addIncome(alice, "Зарплата", 1000, "2026-01-01", "");
+        finance.setBudget(alice, "Еда", 500);
+        auth.saveAll();
+
+        Path export = tempDir.resolve("export.json");
+        new JsonUserRepository(export).saveAll(auth.getUsers());
+        finance.addExpense(alice, "Еда", 100, "2026-01-02", "локально");
+        User other = new User("Alice", "other-hash");
+        String shared = alice.getWallet().getTransactions().get(0).getId();
+        other.getWallet().addTransaction(alice.getWallet().getTransactions().get(0));
+        FinanceService scratch = new FinanceService();
+        scratch.addIncome(other, "Премия", 300, "2026-01-03", "");
+        scratch.setBudget(other, "еда", 900);
+        scratch.setBudget(other, "Такси", 200);
+        User carol = new User("carol", "carol-hash");
+        scratch.addIncome(carol, "Зарплата", 50, "2026-01-04", "");
+        Path delta = tempDir.resolve("delta.json");
+        new JsonUserRepository(delta).saveAll(Map.of("alice", other, "carol", carol));
+
+        JsonMergeImporter importer = new JsonMergeImporter(auth, finance);
+        JsonMergeImporter.Summary summary = importer.importFile(delta);
+        auth.saveAll();
+
+        assertEquals(2, summary.users());
+        assertEquals(1, summary.createdUsers());
+        assertEquals(2, summary.addedTransactions());
+        assertEquals(1, summary.duplicateTransactions());
+        assertEquals(1, summary.addedBudgets());
+        assertEquals(3, auth.getUsers().size());
+        assertEquals(1200, alice.getWallet().getBalance());
+        assertEquals(3, alice.getWallet().getTransactions().size());
+        assertEquals(shared, alice.getWallet().getTransactions().get(0).getId());
+        assertEquals(500, alice.getWallet().getBudgets().get("Еда"));
+        assertEquals(200, alice.getWallet().getBudgets().get("Такси"));
+        assertTrue(auth.login("alice", "pass").isSuccess());
+
+        JsonMergeImporter.Summary again = importer.importFile(delta);
+        assertEquals(0, again.addedTransactions());
+        assertEquals(3, again.duplicateTransactions());
+        assertEquals(0, importer.importFile(export).addedTransactions());
+        auth.saveAll();
+        auth.close();
+
+        Map<String, User> loaded = new JournaledUserRepository(snapshot, journal).loadAll();
+        assertEquals(1200, loaded.get("alice").getWallet().getBalance());
+        assertEquals(50, loaded.get("carol").getWallet().getBalance());
+        assertEquals("carol-hash", loaded.get("carol").getPasswordHash());
+    }
+
+    @Test
+    void mergeSkipsInvalidRowsBeforeJournalingThem(@TempDir Path tempDir) {
+        Path snapshot = tempDir.resolve("users.json");
+        Path journal = tempDir.resolve("journal");
+        JournaledUserRepository repo = new JournaledUserRepository(snapshot, journal);
+        AuthService auth = new AuthService(repo, repo);
+        FinanceService finance = new FinanceService(repo);
+        User alice = auth.register("alice", "pass").getData();
+        finance.addIncome(alice, "Еда", 1000, "2026-01-01", "");
+        Wallet incoming = new Wallet();
+        incoming.addTransaction(new Transaction("typeless", null, "Еда", 100, "", "2026-01-02", null));
+        incoming.addTransaction(new Transaction(null, TransactionType.EXPENSE, " еда ", 300, "", "2026-01-03", null));
+        incoming.addTransaction(new Transaction("", TransactionType.INCOME, "ЕДА", 50, "", "2026-01-04", null));
+
+        MergeResult result = finance.mergeWallet(alice, incoming);
+        auth.saveAll();
+        auth.close();
+
+        assertEquals(2, result.getAddedTransactions());
+        assertEquals(0, result.getDuplicateTransactions());
+        assertEquals(1, result.getSkippedTransactions());
+        Wallet loaded = new JournaledUserRepository(snapshot, journal).loadAll().get("alice").getWallet();
+        assertEquals(750, loaded.getBalance());
+        assertEquals(3, loaded.getTransactions().size());
+        for (Transaction tx : loaded.getTransactions()) {
+            assertEquals("Еда", tx.getCategory());
+            assertNotNull(tx.getId());
+            assertFalse(tx.getId().isBlank());
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package org.example.infra;
 
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
 import org.example.core.model.User;
 import org.example.core.service.AuthService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,4 +31,54 @@ class JsonUserRepositoryTest {
         assertNotNull(loaded.get("user1"));
         assertNotNull(loaded.get("user2"));
     }
+
+    @Test
+    void preservesTransactionFieldsThroughColumnarWallet(@TempDir Path tempDir) {
+        Path file = tempDir.resolve("users.json");
+        User user = new User("user1", "hash");
+        String uuid = "0f8fad5b-d9cb-469f-a165-70867728950e";
+        List<Transaction> transactions = user.getWallet().getTransactions();
+        transactions.add(new Transaction(uuid, TransactionType.INCOME, "Salary", 1000, "", "2026-01-01", null));
+        transactions.add(new Transaction("legacy-1", TransactionType.TRANSFER_OUT, "Перевод", 2550,
+                "за обед", " 2026-01-02", "user2"));
+        transactions.add(new Transaction(null, null, null, 0, null, null, null));
+        assertThrows(UnsupportedOperationException.class, () -> transactions.get(1).setCategory("Переводы"));
+        transactions.set(1, new Transaction("legacy-1", TransactionType.TRANSFER_OUT, "Переводы", 2550,
+                "за обед", " 2026-01-02", "user2"));
+        user.getWallet().setBudget("Food", 300);
+
+        new JsonUserRepository(file).saveAll(Map.of("user1", user));
+        List<Transaction> loaded = new JsonUserRepository(file).loadAll().get("user1").getWallet().getTransactions();
+
+        assertEquals(3, loaded.size());
+        assertEquals(uuid, loaded.get(0).getId());
+        assertEquals("", loaded.get(0).getDescription());
+        assertEquals("2026-01-01", loaded.get(0).getDate());
+        assertNull(loaded.get(0).getCounterparty());
+        assertEquals("legacy-1", loaded.get(1).getId());
+        assertEquals(TransactionType.TRANSFER_OUT, loaded.get(1).getType());
+        assertEquals("Переводы", loaded.get(1).getCategory());
+        assertEquals(2550, loaded.get(1).getAmount());
+        assertEquals(" 2026-01-02", loaded.get(1).getDate());
+        assertEquals("user2", loaded.get(1).getCounterparty());
+        assertNull(loaded.get(2).getId());
+        assertNull(loaded.get(2).getType());
+        assertNull(loaded.get(2).getDate());
+
+        Transaction removed = loaded.remove(0);
+        assertEquals(uuid, removed.getId());
+        assertEquals("legacy-1", loaded.get(0).getId());
+    }
+
+    @Test
+    void truncatedSnapshotFailsInsteadOfLoadingEmptyStore(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("users.json");
+        new AuthService(new JsonUserRepository(file)).register("user1", "pass");
+        String content = Files.readString(file);
+        Files.writeString(file, content.substring(0, content.length() / 2));
+
+        assertThrows(UncheckedIOException.class, () -> new JournaledUserRepository(file, tempDir.resolve("journal"))
+                .loadAll());
+        assertTrue(new JsonUserRepository(tempDir.resolve("missing.json")).loadAll().isEmpty());
+    }
 }
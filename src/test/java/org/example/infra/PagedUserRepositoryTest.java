@@ -0,0 +1,116 @@
+package org.example.infra;
+
+import org.example.core.model.User;
+import org.example.core.service.AuthService;
+import org.example.core.service.FinanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedUserRepositoryTest {
+
+    @Test
+    void walletsArePagedInOnlyWhenTouched(@TempDir Path tempDir) {
+        Path dir = tempDir.resolve("store");
+        AuthService auth = new AuthService(new PagedUserRepository(dir));
+        FinanceService finance = new FinanceService();
+        User user1 = auth.register("user1", "pass").getData();
+        auth.register("user2", "pass");
+        auth.register("user3", "pass");
+        finance.addIncome(user1, "Salary", 1000, "2026-01-01", "");
+        finance.setBudget(user1, "Food", 300);
+        auth.saveAll();
+
+        PagedUserRepository repo = new PagedUserRepository(dir);
+        AuthService reopened = new AuthService(repo);
+        User restored = reopened.login("user1", "pass").getData();
+        assertNotNull(restored);
+        assertFalse(restored.isWalletLoaded());
+        assertEquals(0, repo.getPagedInCount());
+
+        User user2 = reopened.getUsers().get("user2");
+        assertTrue(finance.transfer(restored, user2, 400, "2026-01-02", "").isSuccess());
+        assertEquals(2, repo.getPagedInCount());
+        assertFalse(reopened.getUsers().get("user3").isWalletLoaded());
+        reopened.saveAll();
+
+        Map<String, User> loaded = new PagedUserRepository(dir).loadAll();
+        assertEquals(3, loaded.size());
+        assertEquals(600, loaded.get("user1").getWallet().getBalance(), 0.001);
+        assertEquals(300, loaded.get("user1").getWallet().getBudgets().get("Food"), 0.001);
+        assertEquals(400, loaded.get("user2").getWallet().getBalance(), 0.001);
+        assertEquals(0, loaded.get("user3").getWallet().getTransactions().size());
+    }
+
+    @Test
+    void saveWritesOnlyChangedWallets(@TempDir Path tempDir) {
+        Path dir = tempDir.resolve("store");
+        AuthService auth = new AuthService(new PagedUserRepository(dir));
+        FinanceService finance = new FinanceService();
+        for (int i = 0; i < 5; i++) {
+            User user = auth.register("user" + i, "pass").getData();
+            finance.addIncome(user, "Salary", 1000, "2026-01-01", "");
+        }
+        auth.saveAll();
+
+        PagedUserRepository repo = new PagedUserRepository(dir);
+        AuthService reopened = new AuthService(repo);
+        for (User user : reopened.getUsers().values()) {
+            user.getWallet();
+        }
+        User user = reopened.getUsers().get("user3");
+        finance.addExpense(user, "Food", 100, "2026-01-02", "");
+        assertEquals(1, reopened.countDirtyUsers());
+        reopened.saveAll();
+
+        assertEquals(0, reopened.countDirtyUsers());
+        assertEquals(1, reopened.getFlushedUserCount());
+        assertEquals(1, repo.getSegmentWriteCount());
+        assertEquals(0, repo.getIndexWriteCount());
+        assertEquals(900, new PagedUserRepository(dir).loadAll().get("user3").getWallet().getBalance(), 0.001);
+    }
+
+    @Test
+    void corruptIndexFailsInsteadOfLoadingEmptyStore(@TempDir Path tempDir) throws IOException {
+        Path dir = tempDir.resolve("store");
+        AuthService auth = new AuthService(new PagedUserRepository(dir));
+        auth.register("user1", "pass");
+        auth.saveAll();
+        Path index = dir.resolve("index.bin");
+        byte[] content = Files.readAllBytes(index);
+
+        Files.write(index, Arrays.copyOf(content, content.length - 4));
+        assertThrows(UncheckedIOException.class, () -> new PagedUserRepository(dir).loadAll());
+        content[0] ^= 1;
+        Files.write(index, content);
+        assertThrows(UncheckedIOException.class, () -> new PagedUserRepository(dir).loadAll());
+    }
+
+    @Test
+    void failedSaveIsReportedAndRetriedWithIndex(@TempDir Path tempDir) throws IOException {
+        Path dir = tempDir.resolve("store");
+        PagedUserRepository repo = new PagedUserRepository(dir);
+        Map<String, User> users = new HashMap<>(repo.loadAll());
+        User user = new User("user1", "hash");
+        new FinanceService().addIncome(user, "Salary", 1000, "2026-01-01", "");
+        users.put("user1", user);
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("wallets"), "not a directory");
+
+        assertThrows(UncheckedIOException.class, () -> repo.saveChanged(users, List.of(user)));
+
+        Files.delete(dir.resolve("wallets"));
+        repo.saveChanged(users, List.of(user));
+        assertEquals(1000, new PagedUserRepository(dir).loadAll().get("user1").getWallet().getBalance());
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.infra;
+
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJsonReaderTest {
+
+    @Test
+    void readsUsersAndReportsProgress() throws IOException {
+        String json = """
+                {
+                  "users": [
+                    {
+                      "login": "User1",
+                      "passwordHash": "h",
+                      "unknown": {"nested": [1, 2]},
+                      "wallet": {
+                        "balance": 699.9,
+                        "transactions": [
+                          {"id": "1", "type": "INCOME", "category": "Salary", "amount": 1000.0,
+                           "description": "", "date": "2026-01-01"},
+                          {"id": "2", "type": "TRANSFER_OUT", "category": "Перевод", "amount": 300.10000000000002,
+                           "description": null, "date": "2026-01-02", "counterparty": "user2"}
+                        ],
+                        "budgets": {"Food": 500.0}
+                      }
+                    }
+                  ],
+                  "journalGeneration": 4
+                }
+                """;
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<long[]> reports = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        try (UserJsonReader reader = new UserJsonReader(new ByteArrayInputStream(bytes),
+                (u, t, b) -> reports.add(new long[]{u, t, b}))) {
+            reader.readAll(users::add);
+            assertEquals(4, reader.getJournalGeneration());
+            assertEquals(2, reader.getTransactionCount());
+        }
+
+        assertEquals(1, users.size());
+        User user = users.get(0);
+        assertEquals("User1", user.getLogin());
+        assertEquals(69990, user.getWallet().getBalance());
+        assertEquals(30010, user.getWallet().getTransactions().get(1).getAmount());
+        assertEquals(2, user.getWallet().getTransactions().size());
+        assertEquals(TransactionType.TRANSFER_OUT, user.getWallet().getTransactions().get(1).getType());
+        assertEquals("user2", user.getWallet().getTransactions().get(1).getCounterparty());
+        assertEquals(50000, user.getWallet().getBudgets().get("Food"));
+        long[] last = reports.get(reports.size() - 1);
+        assertEquals(1, last[0]);
+        assertEquals(2, last[1]);
+        assertEquals(bytes.length, last[2]);
+    }
+
+    @Test
+    void emptyInputHasNoUsers() throws IOException {
+        List<User> users = new ArrayList<>();
+        try (UserJsonReader reader = new UserJsonReader(new ByteArrayInputStream(new byte[0]),
+                LoadProgressListener.NONE)) {
+            reader.readAll(users::add);
+        }
+        assertTrue(users.isEmpty());
+    }
+}
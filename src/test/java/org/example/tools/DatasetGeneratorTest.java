@@ -0,0 +1,73 @@
+package org.example.tools;
+
+import org.example.core.model.Transaction;
+import org.example.core.model.TransactionType;
+import org.example.core.model.User;
+import org.example.core.service.AuthService;
+import org.example.infra.JsonUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    @Test
+    void generatesConsistentLoadableStore(@TempDir Path tempDir) throws IOException {
+        DatasetGenerator.Options options = new DatasetGenerator.Options(5, 200, 20, LocalDate.of(2025, 1, 1),
+                365, 0.2, 1.0, 7, "secret");
+        Path file = tempDir.resolve("users.json");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new DatasetGenerator(options).write(out, false);
+        }
+
+        Map<String, User> users = new JsonUserRepository(file).loadAll();
+        assertEquals(5, users.size());
+        double sent = 0;
+        double received = 0;
+        for (User user : users.values()) {
+            double balance = 0;
+            String previousDate = "";
+            for (Transaction tx : user.getWallet().getTransactions()) {
+                balance += tx.getType().isIncoming() ? tx.getAmount() : -tx.getAmount();
+                assertTrue(balance >= 0);
+                assertTrue(tx.getDate().compareTo(previousDate) >= 0);
+                previousDate = tx.getDate();
+                if (tx.getType() == TransactionType.TRANSFER_OUT) {
+                    sent += tx.getAmount();
+                    assertTrue(users.containsKey(tx.getCounterparty()));
+                } else if (tx.getType() == TransactionType.TRANSFER_IN) {
+                    received += tx.getAmount();
+                }
+            }
+            assertEquals(balance, user.getWallet().getBalance(), 0.001);
+            assertEquals(20, user.getWallet().getBudgets().size());
+        }
+        assertTrue(sent > 0);
+        assertEquals(sent, received, 0.001);
+
+        AuthService auth = new AuthService(new JsonUserRepository(file));
+        assertTrue(auth.login(DatasetGenerator.login(0), "secret").isSuccess());
+    }
+
+    @Test
+    void sameSeedProducesSameOutput() throws IOException {
+        DatasetGenerator.Options options = DatasetGenerator.Options.defaults();
+        DatasetGenerator.Options small = new DatasetGenerator.Options(3, 50, options.categories(), options.from(),
+                options.days(), options.transferDensity(), options.budgetCoverage(), 11, options.password());
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+        new DatasetGenerator(small).write(first, false);
+        new DatasetGenerator(small).write(second, false);
+        assertEquals(first.toString(), second.toString());
+    }
+}